@@ -0,0 +1,112 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import com.eouil.bank.bankapi.concurrency.DeadlockRetryExecutor;
+import com.eouil.bank.bankapi.concurrency.GroupCommitExecutor;
+import com.eouil.bank.bankapi.domains.LedgerEntry;
+import com.eouil.bank.bankapi.domains.TransactionStatus;
+import com.eouil.bank.bankapi.domains.TransactionType;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
+import com.eouil.bank.bankapi.repositories.TransactionJdbcRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 건별 커밋 (windowMicros=0) vs 그룹 커밋 window 별 처리량 / 지연
+// 커밋 비용(fsync)이 결과를 좌우하므로 기본은 H2 파일 DB, 실제 수치는 MySQL 로 측정 권장:
+// ./gradlew jmh -Pjmh.includes=GroupCommitBenchmark -Dbench.jdbcUrl=jdbc:mysql://... -Dbench.user=... -Dbench.password=...
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class GroupCommitBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"0", "500", "1000", "2000"})
+    public long windowMicros;
+
+    @Param({"64"})
+    public int maxBatchSize;
+
+    private HikariDataSource dataSource;
+    private GroupCommitExecutor executor;
+    private AccountJdbcRepository accountRepository;
+    private TransactionJdbcRepository transactionRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:file:"
+                + Files.createTempDirectory("group-commit").resolve("ledger") + ";MODE=MySQL;WRITE_DELAY=0"));
+        dataSource.setUsername(System.getProperty("bench.user", "sa"));
+        dataSource.setPassword(System.getProperty("bench.password", ""));
+        dataSource.setMaximumPoolSize(40);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        createSchema(jdbcTemplate);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        accountRepository = new AccountJdbcRepository(jdbcTemplate);
+        transactionRepository = new TransactionJdbcRepository(jdbcTemplate);
+        executor = new GroupCommitExecutor(new DeadlockRetryExecutor(transactionManager, 3, 20, 200),
+                transactionRepository, transactionManager, new SimpleMeterRegistry(),
+                windowMicros > 0, windowMicros, maxBatchSize, 10_000);
+        executor.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.stop();
+        new JdbcTemplate(dataSource).execute("DROP TABLE IF EXISTS ledger_outbox, transaction, account");
+        dataSource.close();
+    }
+
+    // 입금 한 건 = 잔액 UPDATE + 원장 INSERT + outbox INSERT + 커밋
+    @Benchmark
+    public LedgerEntry deposit() {
+        String account = "ACC" + ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        return executor.execute(() -> {
+            accountRepository.credit(account, BigDecimal.ONE);
+            LedgerEntry entry = LedgerEntry.builder()
+                    .toAccountNumber(account)
+                    .type(TransactionType.DEPOSIT)
+                    .amount(BigDecimal.ONE)
+                    .status(TransactionStatus.COMPLETED)
+                    .balanceAfter(BigDecimal.ZERO)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            transactionRepository.save(entry);
+            return entry;
+        });
+    }
+
+    private void createSchema(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ledger_outbox, transaction, account");
+        jdbcTemplate.execute("CREATE TABLE account (account_number VARCHAR(20) PRIMARY KEY, " +
+                "user_user_id VARCHAR(36), balance DECIMAL(19,2))");
+        jdbcTemplate.execute("CREATE TABLE transaction (transaction_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "from_account_number VARCHAR(20), to_account_number VARCHAR(20), type VARCHAR(20), " +
+                "amount DECIMAL(19,2), memo VARCHAR(255), status VARCHAR(20), balance_after DECIMAL(19,2), " +
+                "created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE ledger_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "transaction_id BIGINT NOT NULL, from_account_number VARCHAR(20), to_account_number VARCHAR(20), " +
+                "type VARCHAR(20) NOT NULL, amount DECIMAL(19,2) NOT NULL, memo VARCHAR(255), status VARCHAR(20), " +
+                "balance_after DECIMAL(19,2), created_at TIMESTAMP NOT NULL)");
+        for (int i = 0; i < ACCOUNTS; i += 500) {
+            int end = Math.min(i + 500, ACCOUNTS);
+            StringBuilder sql = new StringBuilder("INSERT INTO account (account_number, user_user_id, balance) VALUES ");
+            for (int j = i; j < end; j++) {
+                sql.append(j > i ? ", " : "").append("('ACC").append(j).append("', 'bench', 0)");
+            }
+            jdbcTemplate.execute(sql.toString());
+        }
+    }
+}
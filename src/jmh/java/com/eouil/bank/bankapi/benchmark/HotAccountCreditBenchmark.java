@@ -0,0 +1,101 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 한 계좌로 입금이 몰릴 때 처리량: 계좌 행 하나 (buckets=0) vs 잔액 버킷 K개
+// 입금 UPDATE 후 원장 INSERT / 커밋 왕복 동안 row lock 을 잡고 있는 것을 roundTripMicros 로 흉내냄
+// ./gradlew jmh -Pjmh.includes=HotAccountCreditBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class HotAccountCreditBenchmark {
+
+    private static final String ACCOUNT = "30000000000000";
+
+    @Param({"0", "4", "16"})
+    public int buckets;
+
+    @Param({"200"})
+    public long roundTripMicros;
+
+    private String url;
+    private Connection setupConnection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        url = "jdbc:h2:mem:hot-account-" + buckets + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+        setupConnection = DriverManager.getConnection(url, "sa", "");
+        try (Statement st = setupConnection.createStatement()) {
+            st.execute("CREATE TABLE account (account_number VARCHAR(20) PRIMARY KEY, " +
+                    "user_user_id VARCHAR(36), balance DECIMAL(19,2), bucket_count INT DEFAULT 0 NOT NULL)");
+            st.execute("CREATE TABLE account_balance_bucket (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "account_number VARCHAR(20) NOT NULL, bucket_no INT NOT NULL, balance DECIMAL(19,2) NOT NULL, " +
+                    "CONSTRAINT uk_account_bucket UNIQUE (account_number, bucket_no))");
+            st.execute("INSERT INTO account VALUES ('" + ACCOUNT + "', 'merchant', 0, " + buckets + ")");
+            for (int i = 0; i < buckets; i++) {
+                st.execute("INSERT INTO account_balance_bucket (account_number, bucket_no, balance) " +
+                        "VALUES ('" + ACCOUNT + "', " + i + ", 0)");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = setupConnection.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        setupConnection.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private PreparedStatement creditAccount;
+        private PreparedStatement creditBucket;
+
+        @Setup(Level.Trial)
+        public void open(HotAccountCreditBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(benchmark.url, "sa", "");
+            connection.setAutoCommit(false);
+            creditAccount = connection.prepareStatement(
+                    "UPDATE account SET balance = balance + ? WHERE account_number = ?");
+            creditBucket = connection.prepareStatement(
+                    "UPDATE account_balance_bucket SET balance = balance + ? WHERE account_number = ? AND bucket_no = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int credit(Session session) throws SQLException {
+        int updated;
+        if (buckets == 0) {
+            session.creditAccount.setBigDecimal(1, BigDecimal.ONE);
+            session.creditAccount.setString(2, ACCOUNT);
+            updated = session.creditAccount.executeUpdate();
+        } else {
+            session.creditBucket.setBigDecimal(1, BigDecimal.ONE);
+            session.creditBucket.setString(2, ACCOUNT);
+            session.creditBucket.setInt(3, ThreadLocalRandom.current().nextInt(buckets));
+            updated = session.creditBucket.executeUpdate();
+        }
+        // 원장 INSERT + 커밋까지의 왕복 시간 동안 락 유지
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        session.connection.commit();
+        return updated;
+    }
+}
@@ -0,0 +1,65 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import com.eouil.bank.bankapi.utils.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+// JWT 검증 비용 비교: 호출마다 파서 생성 (기존) vs 재사용 파서 + 검증 결과 캐시
+// 기존 요청 하나는 LogFilter, JwtAuthenticationFilter, 서비스에서 총 3번 검증
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtUtil = new JwtUtil(SECRET, 10_000);
+        token = jwtUtil.generateAccessToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String legacySingleVerification() {
+        return legacyVerify(token);
+    }
+
+    @Benchmark
+    public void legacyRequest(Blackhole bh) {
+        bh.consume(legacyVerify(token));
+        bh.consume(legacyVerify(token));
+        bh.consume(legacyVerify(token));
+    }
+
+    @Benchmark
+    public String cachedSingleVerification() {
+        return jwtUtil.validateTokenAndGetUserId(token);
+    }
+
+    @Benchmark
+    public void cachedRequest(Blackhole bh) {
+        bh.consume(jwtUtil.validateTokenAndGetUserId(token));
+        bh.consume(jwtUtil.validateTokenAndGetUserId(token));
+        bh.consume(jwtUtil.validateTokenAndGetUserId(token));
+    }
+
+    private String legacyVerify(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(60)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody()
+                .getSubject();
+    }
+}
@@ -0,0 +1,119 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import com.eouil.bank.bankapi.services.AccountNumberAllocator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 가입이 몰릴 때 가입 1건당 쿼리 수 / 시간
+// legacy: 이메일 선조회 → 사용자 merge(SELECT + INSERT) → 계좌번호 존재 확인 → 계좌 merge(SELECT + INSERT), 단계마다 커밋
+// single-tx: 사용자 + 첫 계좌 INSERT 를 한 트랜잭션에서, 계좌번호는 AccountNumberAllocator 블록에서 (블록 예약 쿼리는 분산돼서 거의 0)
+// BCrypt 는 두 경우 모두 커넥션 밖에서 같은 비용이라 제외
+// ./gradlew jmh -Pjmh.includes=SignupBurstBenchmark (MySQL: -Dbench.jdbcUrl=jdbc:mysql://... -Dbench.user=... -Dbench.password=...)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class SignupBurstBenchmark {
+
+    @Param({"legacy", "single-tx"})
+    public String mode;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AccountNumberAllocator allocator;
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong joins = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:file:"
+                + Files.createTempDirectory("signup").resolve("users") + ";MODE=MySQL;WRITE_DELAY=0"));
+        dataSource.setUsername(System.getProperty("bench.user", "sa"));
+        dataSource.setPassword(System.getProperty("bench.password", ""));
+        dataSource.setMaximumPoolSize(40);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        createSchema();
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        allocator = new AccountNumberAllocator(jdbcTemplate, transactionManager, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s] 가입 1건당 쿼리 수: %.2f%n", mode, (double) queries.get() / Math.max(1, joins.get()));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS account, users, account_number_block");
+        dataSource.close();
+    }
+
+    @Benchmark
+    public String join() {
+        String userId = UUID.randomUUID().toString();
+        String email = userId + "@example.com";
+        if ("legacy".equals(mode)) {
+            joinLegacy(userId, email);
+        } else {
+            // 블록 예약(UPDATE + SELECT)은 1000건에 한 번
+            String accountNumber = allocator.next();
+            transactionTemplate.executeWithoutResult(status -> {
+                insertUser(userId, email);
+                insertAccount(accountNumber, userId);
+            });
+        }
+        joins.incrementAndGet();
+        return userId;
+    }
+
+    private void joinLegacy(String userId, String email) {
+        query("SELECT user_id FROM users WHERE email = ?", email);
+        query("SELECT user_id FROM users WHERE user_id = ?", userId);
+        insertUser(userId, email);
+        String accountNumber;
+        do {
+            accountNumber = String.valueOf(10000000000000L + ThreadLocalRandom.current().nextLong(89999999999999L));
+        } while (!query("SELECT account_number FROM account WHERE account_number = ?", accountNumber));
+        query("SELECT account_number FROM account WHERE account_number = ?", accountNumber);
+        insertAccount(accountNumber, userId);
+    }
+
+    // 결과가 없으면 true
+    private boolean query(String sql, String arg) {
+        queries.incrementAndGet();
+        return jdbcTemplate.queryForList(sql, String.class, arg).isEmpty();
+    }
+
+    private void insertUser(String userId, String email) {
+        queries.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email, password) VALUES (?, ?, ?, ?)",
+                userId, "bench", email, "$2a$10$benchbenchbenchbenchbenchbenchbenchbenchbenchbenchbe");
+    }
+
+    private void insertAccount(String accountNumber, String userId) {
+        queries.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO account (account_number, user_user_id, balance, created_at, bucket_count) " +
+                "VALUES (?, ?, 0, ?, 0)", accountNumber, userId, LocalDateTime.now());
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS account, users, account_number_block");
+        jdbcTemplate.execute("CREATE TABLE users (user_id VARCHAR(36) PRIMARY KEY, name VARCHAR(16) NOT NULL, " +
+                "email VARCHAR(50) NOT NULL UNIQUE, password VARCHAR(100) NOT NULL, mfa_secret VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE account (account_number VARCHAR(20) PRIMARY KEY, " +
+                "user_user_id VARCHAR(36), balance DECIMAL(19,2), created_at TIMESTAMP, bucket_count INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE account_number_block (name VARCHAR(50) PRIMARY KEY, " +
+                "next_value BIGINT NOT NULL, updated_at TIMESTAMP)");
+    }
+}
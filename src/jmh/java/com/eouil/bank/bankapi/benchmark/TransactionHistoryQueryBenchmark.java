@@ -0,0 +1,96 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import com.eouil.bank.bankapi.dtos.requests.TransactionHistorySearchRequest;
+import com.eouil.bank.bankapi.repositories.TransactionQueryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 거래내역 조회 비교: OR 조건 (기존) vs UNION ALL, 복합 인덱스 유무별
+// H2(MySQL 모드)에 rows 건 시드 후 사용자 1명의 최근 20건 조회
+// ./gradlew jmh -Pjmh.includes=TransactionHistoryQueryBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionHistoryQueryBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final int USERS = 5_000; // 사용자당 계좌 2개
+    private static final int PAGE_SIZE = 20;
+    private static final String USER_ID = "user-42";
+
+    private static final String LEGACY_OR_SQL =
+            "SELECT t.transaction_id, t.from_account_number, t.to_account_number, t.type, t.amount, " +
+            "t.memo, t.status, t.balance_after, t.created_at FROM transaction t " +
+            "WHERE t.from_account_number IN (SELECT account_number FROM account WHERE user_user_id = ?) " +
+            "OR t.to_account_number IN (SELECT account_number FROM account WHERE user_user_id = ?) " +
+            "ORDER BY t.created_at DESC, t.transaction_id DESC LIMIT ?";
+
+    @Param({"1000000", "3000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionQueryRepository queryRepository;
+    private TransactionHistorySearchRequest search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:history-" + rows + "-" + indexed + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        queryRepository = new TransactionQueryRepository(jdbcTemplate, 500);
+        search = new TransactionHistorySearchRequest();
+
+        jdbcTemplate.execute("CREATE TABLE account (account_number VARCHAR(20) PRIMARY KEY, " +
+                "user_user_id VARCHAR(36), balance DECIMAL(19,2))");
+        jdbcTemplate.execute("CREATE INDEX idx_account_user ON account (user_user_id)");
+        jdbcTemplate.execute("CREATE TABLE transaction (transaction_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "from_account_number VARCHAR(20), to_account_number VARCHAR(20), type VARCHAR(20), " +
+                "amount DECIMAL(19,2), memo VARCHAR(255), status VARCHAR(20), balance_after DECIMAL(19,2), " +
+                "created_at TIMESTAMP)");
+
+        jdbcTemplate.update("INSERT INTO account SELECT 'ACC' || X, 'user-' || MOD(X, " + USERS + "), 0 " +
+                "FROM SYSTEM_RANGE(0, " + (ACCOUNTS - 1) + ")");
+        jdbcTemplate.update("INSERT INTO transaction (from_account_number, to_account_number, type, amount, " +
+                "memo, status, balance_after, created_at) " +
+                "SELECT 'ACC' || MOD(X, " + ACCOUNTS + "), 'ACC' || MOD(X * 7 + 1, " + ACCOUNTS + "), 'TRANSFER', " +
+                "1000, NULL, 'COMPLETED', 0, DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1, " + rows + ")");
+
+        if (indexed) {
+            jdbcTemplate.execute("CREATE INDEX idx_transaction_from_created " +
+                    "ON transaction (from_account_number, created_at, transaction_id)");
+            jdbcTemplate.execute("CREATE INDEX idx_transaction_to_created " +
+                    "ON transaction (to_account_number, created_at, transaction_id)");
+        } else {
+            // 인덱스 없는 기준선: JPA 가 만드는 FK 단일 컬럼 인덱스만 있는 상태
+            jdbcTemplate.execute("CREATE INDEX idx_transaction_from ON transaction (from_account_number)");
+            jdbcTemplate.execute("CREATE INDEX idx_transaction_to ON transaction (to_account_number)");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> legacyOrQuery() {
+        return jdbcTemplate.queryForList(LEGACY_OR_SQL, USER_ID, USER_ID, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object unionAllQuery() {
+        return queryRepository.findPage(USER_ID, search, null, PAGE_SIZE);
+    }
+}
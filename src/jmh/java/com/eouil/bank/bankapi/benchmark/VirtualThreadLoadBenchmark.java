@@ -0,0 +1,101 @@
+package com.eouil.bank.bankapi.benchmark;
+
+import com.eouil.bank.bankapi.concurrency.BulkheadDataSource;
+import com.eouil.bank.bankapi.concurrency.ConnectionBulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 동시 요청 폭주 시 플랫폼 스레드 (Tomcat 기본 200개) vs 가상 스레드 비교
+// 요청 하나 = Redis / SES 같은 외부 블로킹 호출 (ioMillis) + 커넥션 10개 풀에서 조회 (dbMillis 동안 커넥션 점유)
+// 한 번의 측정 = requests 개 요청을 한꺼번에 넣고 전부 끝날 때까지
+// ./gradlew jmh -Pjmh.includes=VirtualThreadLoadBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-bulkhead"})
+    public String mode;
+
+    @Param({"5000"})
+    public int requests;
+
+    @Param({"20"})
+    public long ioMillis;
+
+    @Param({"2"})
+    public long dbMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:vt-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setConnectionTimeout(30_000);
+        try (Connection con = pool.getConnection(); Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE account (account_number VARCHAR(20) PRIMARY KEY, balance DECIMAL(19,2))");
+            st.execute("INSERT INTO account SELECT 'ACC' || X, 1000 FROM SYSTEM_RANGE(0, 999)");
+        }
+
+        dataSource = "virtual-bulkhead".equals(mode)
+                ? new BulkheadDataSource(pool, new ConnectionBulkhead(POOL_SIZE, requests, 30_000))
+                : pool;
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> handle(n)));
+        }
+        long sum = 0;
+        for (Future<Long> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+
+    private long handle(int n) throws Exception {
+        Thread.sleep(ioMillis);
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement("SELECT balance FROM account WHERE account_number = ?")) {
+            ps.setString(1, "ACC" + (n % 1000));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                Thread.sleep(dbMillis);
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import com.eouil.bank.bankapi.exceptions.AccountLockTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 계좌번호 기준 스트라이프 락
+// 같은 계좌에 대한 작업을 DB 커넥션을 빌리기 전에 JVM 안에서 먼저 줄 세움
+// → 핫 계좌 요청이 커넥션을 잡은 채 row lock 대기하는 것 방지
+@Slf4j
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Counter timeoutCounter;
+    private final long timeoutMillis;
+    private final int mask;
+
+    public AccountLockManager(MeterRegistry registry,
+                              @Value("${custom.transaction.account-lock.stripes:64}") int stripeCount,
+                              @Value("${custom.transaction.account-lock.timeout-ms:3000}") long timeoutMillis) {
+        // 2의 거듭제곱으로 올림 (비트 마스크로 스트라이프 선택)
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.waitTimers = new Timer[size];
+        this.mask = size - 1;
+        this.timeoutMillis = timeoutMillis;
+
+        for (int i = 0; i < size; i++) {
+            // fair 락: AQS 대기 큐 순서대로 획득 (핫 계좌에서 특정 요청이 계속 밀리는 것 방지)
+            stripes[i] = new ReentrantLock(true);
+            waitTimers[i] = Timer.builder("account_lock_wait")
+                    .description("Time spent waiting for an account lock stripe")
+                    .tag("stripe", String.valueOf(i))
+                    .register(registry);
+        }
+        this.timeoutCounter = registry.counter("account_lock_timeout_total");
+    }
+
+    // 주어진 계좌들의 스트라이프를 인덱스 순서대로 잡고 action 실행
+    public <T> T withLocks(Supplier<T> action, String... accountNumbers) {
+        int[] indexes = Arrays.stream(accountNumbers)
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                lock(index);
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private void lock(int index) {
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = stripes[index].tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockTimeoutException();
+        } finally {
+            waitTimers[index].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!locked) {
+            timeoutCounter.increment();
+            log.warn("[ACCOUNT LOCK] 락 대기 시간 초과 - stripe: {}, timeout: {}ms", index, timeoutMillis);
+            throw new AccountLockTimeoutException();
+        }
+    }
+
+    private int stripeOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
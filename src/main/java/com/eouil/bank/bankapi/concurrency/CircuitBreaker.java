@@ -0,0 +1,60 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 외부 저장소(Redis 등) 연속 실패 시 일정 시간 호출 자체를 막아서 요청 스레드가 타임아웃을 매번 기다리지 않게 함
+// CLOSED → (연속 실패 failureThreshold 회) → OPEN → (openMillis 경과) → HALF_OPEN: 한 요청만 시험 호출
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAtMillis;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    // 호출해도 되는지 - false 면 바로 대체 경로로
+    public boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openMillis
+                && probing.compareAndSet(false, true)) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state = State.CLOSED;
+        probing.set(false);
+    }
+
+    public void onFailure() {
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAtMillis = System.currentTimeMillis();
+            state = State.OPEN;
+            probing.set(false);
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return state == State.CLOSED;
+    }
+}
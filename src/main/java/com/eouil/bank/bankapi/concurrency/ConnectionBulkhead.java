@@ -0,0 +1,58 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// DB 커넥션 동시 사용 상한
+// 가상 스레드는 요청마다 하나씩 생기므로 수천 개가 한꺼번에 Hikari 풀(10개)을 기다리며 몰릴 수 있음
+// → 풀 크기만큼만 통과시키고, 대기열이 너무 길면 기다리지 않고 바로 실패시켜 타임아웃 폭주를 막음
+public class ConnectionBulkhead {
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxWaiting;
+    private final long acquireTimeoutMillis;
+
+    public ConnectionBulkhead(int maxConcurrent, int maxWaiting, long acquireTimeoutMillis) {
+        // fair: 먼저 온 요청부터 커넥션을 받도록
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw new SQLTransientConnectionException("Connection bulkhead full - too many requests waiting for a connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Connection bulkhead timeout after " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
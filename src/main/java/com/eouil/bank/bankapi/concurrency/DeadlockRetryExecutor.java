@@ -0,0 +1,69 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 데드락 / 락 대기 타임아웃 발생 시 트랜잭션 전체를 새로 시작해서 재시도
+@Slf4j
+@Component
+public class DeadlockRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public DeadlockRetryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${custom.transaction.lock-retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${custom.transaction.lock-retry.base-backoff-ms:20}") long baseBackoffMillis,
+                                 @Value("${custom.transaction.lock-retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        // 이미 바깥 트랜잭션 안이면 재시도해도 같은 트랜잭션이 롤백 상태라 의미 없음
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("[LOCK RETRY] 재시도 한도 초과 - 시도 {}회: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                log.warn("[LOCK RETRY] 락 충돌로 재시도 - 시도 {}/{}, {}ms 대기: {}", attempt, maxAttempts, backoff, e.getMessage());
+                sleep(backoff);
+            }
+        }
+    }
+
+    // 지수 백오프 + 지터 (동시에 재시도해서 다시 부딪히는 것 방지)
+    private long backoffMillis(int attempt) {
+        long exp = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 16));
+        return exp / 2 + ThreadLocalRandom.current().nextLong(exp / 2 + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import com.eouil.bank.bankapi.domains.LedgerEntry;
+import com.eouil.bank.bankapi.exceptions.GroupCommitTimeoutException;
+import com.eouil.bank.bankapi.logging.TraceContext;
+import com.eouil.bank.bankapi.repositories.TransactionJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// 그룹 커밋 (opt-in)
+// 요청 스레드는 작업만 넘기고, 커미터 스레드 하나가 짧은 구간 동안 모인 작업을 한 트랜잭션에서 실행 후 한 번만 커밋
+// 작업마다 세이브포인트를 잡아서 잔액 부족 같은 실패는 해당 작업만 되돌리고, 원장 INSERT 는 커밋 직전에 batch 로 기록
+// 요청 스레드는 공유 커밋이 끝난 뒤에만 결과를 받으므로 응답 시점의 내구성은 건별 커밋과 같음
+// 대기는 await-timeout 까지만: 커미터가 아직 꺼내지 않은 작업은 직접 처리, 이미 실행 중이면 결과 미확정으로 응답
+@Slf4j
+@Component
+public class GroupCommitExecutor {
+
+    private final DeadlockRetryExecutor deadlockRetryExecutor;
+    private final TransactionJdbcRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+    private final BlockingQueue<Command<?>> queue;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer commitTimer;
+    private final Counter fallbackCounter;
+    private final Counter timeoutCounter;
+
+    private Thread committer;
+    private volatile boolean running;
+
+    public GroupCommitExecutor(DeadlockRetryExecutor deadlockRetryExecutor,
+                               TransactionJdbcRepository transactionRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${custom.transaction.group-commit.enabled:false}") boolean enabled,
+                               @Value("${custom.transaction.group-commit.window-micros:1000}") long windowMicros,
+                               @Value("${custom.transaction.group-commit.max-batch-size:64}") int maxBatchSize,
+                               @Value("${custom.transaction.group-commit.queue-capacity:1000}") int queueCapacity,
+                               @Value("${custom.transaction.group-commit.await-timeout-ms:5000}") long awaitTimeoutMillis) {
+        this.deadlockRetryExecutor = deadlockRetryExecutor;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        registry.gauge("group_commit_queue_size", queue, BlockingQueue::size);
+        this.batchSizeSummary = DistributionSummary.builder("group_commit_batch_size")
+                .description("한 번의 커밋에 묶인 작업 수")
+                .register(registry);
+        this.commitTimer = Timer.builder("group_commit_duration")
+                .description("묶음 실행 + 커밋 시간")
+                .register(registry);
+        this.fallbackCounter = Counter.builder("group_commit_fallback_total")
+                .description("큐 포화 / 묶음 롤백 / 대기 초과로 건별 트랜잭션으로 처리한 작업 수")
+                .register(registry);
+        this.timeoutCounter = Counter.builder("group_commit_await_timeout_total")
+                .description("묶음에서 실행 중인 작업의 결과를 기다리다 포기한 수 (커밋 여부 미확정)")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        committer = new Thread(this::runCommitter, "ledger-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // 남은 작업을 건별로 처리할 때까지 기다림 (DataSource 가 먼저 닫히지 않도록)
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (committer == null) {
+            return;
+        }
+        committer.interrupt();
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 꺼져 있거나 커미터가 멈췄거나 이미 트랜잭션 안이면 기존처럼 건별 트랜잭션
+    public <T> T execute(Supplier<T> work) {
+        if (!enabled || !running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return deadlockRetryExecutor.execute(work);
+        }
+
+        // 커미터 스레드에서 실행되는 동안에도 요청 trace / userId 로 로그가 남도록
+        Command<T> command = new Command<>(TraceContext.wrap(work));
+        if (!queue.offer(command)) {
+            // 커미터가 밀려 있으면 기다리지 않고 직접 처리
+            fallbackCounter.increment();
+            return deadlockRetryExecutor.execute(work);
+        }
+        // 넣는 사이 커미터가 멈췄으면 아무도 꺼내지 않으므로 직접 처리
+        if (!running && command.claim()) {
+            fallbackCounter.increment();
+            return deadlockRetryExecutor.execute(work);
+        }
+        return await(command, work);
+    }
+
+    private <T> T await(Command<T> command, Supplier<T> work) {
+        try {
+            return command.future.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (command.claim()) {
+                // 커미터가 아직 실행하지 않은 작업 → 직접 처리
+                fallbackCounter.increment();
+                return deadlockRetryExecutor.execute(work);
+            }
+            timeoutCounter.increment();
+            log.warn("[GROUP COMMIT] 결과 대기 {}ms 초과 - 커밋 여부 미확정", awaitTimeoutMillis);
+            throw new GroupCommitTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (command.claim()) {
+                throw new IllegalStateException("그룹 커밋 대기 중 인터럽트 - 처리하지 않음");
+            }
+            throw new GroupCommitTimeoutException();
+        }
+    }
+
+    private void runCommitter() {
+        List<Command<?>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopped = false;
+        try {
+            while (running) {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    stopped = true;
+                    break;
+                }
+                try {
+                    commit(batch);
+                } catch (RuntimeException e) {
+                    log.error("[GROUP COMMIT] 커미터 오류", e);
+                    batch.forEach(command -> command.fail(e));
+                }
+                batch.clear();
+            }
+            stopped = true;
+        } finally {
+            running = false;
+            // 아직 결과를 못 받은 작업 - 종료면 건별로 처리, 커미터가 죽은 경우면 실패로 완료 (요청 스레드가 멈춰 있지 않게)
+            List<Command<?>> pending = new ArrayList<>(batch);
+            Command<?> left;
+            while ((left = queue.poll()) != null) {
+                if (left.claim()) {
+                    pending.add(left);
+                }
+            }
+            if (stopped) {
+                Thread.interrupted();
+                pending.forEach(this::runAlone);
+            } else {
+                IllegalStateException failure = new IllegalStateException("그룹 커밋 커미터 중단");
+                pending.forEach(command -> command.fail(failure));
+            }
+        }
+    }
+
+    // 짧은 구간 동안 모인 작업을 꺼냄 (호출 쪽이 대기 초과로 직접 처리한 작업은 건너뜀)
+    private void collect(List<Command<?>> batch) throws InterruptedException {
+        Command<?> first = queue.take();
+        if (first.claim()) {
+            batch.add(first);
+        }
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            Command<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            if (next.claim()) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void commit(List<Command<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<LedgerEntry> deferred = transactionRepository.deferInserts();
+                try {
+                    for (Command<?> command : batch) {
+                        Object savepoint = status.createSavepoint();
+                        int mark = deferred.size();
+                        try {
+                            command.run();
+                            status.releaseSavepoint(savepoint);
+                        } catch (PessimisticLockingFailureException e) {
+                            // 데드락이면 DB 가 트랜잭션 전체를 롤백한 상태 → 묶음 전체를 다시 처리
+                            throw e;
+                        } catch (RuntimeException e) {
+                            status.rollbackToSavepoint(savepoint);
+                            deferred.subList(mark, deferred.size()).clear();
+                            command.failure = e;
+                        }
+                    }
+                    transactionRepository.flushDeferred();
+                } finally {
+                    transactionRepository.stopDeferring();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 묶음 전체가 롤백됨 → 각 작업을 건별 트랜잭션으로 재실행
+            log.warn("[GROUP COMMIT] 묶음 롤백 - {}건 건별 재처리: {}", batch.size(), e.getMessage());
+            fallbackCounter.increment(batch.size());
+            batch.forEach(this::runAlone);
+            return;
+        }
+
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.size());
+        // 커밋이 끝난 뒤에만 요청 스레드를 깨움
+        batch.forEach(Command::complete);
+    }
+
+    private void runAlone(Command<?> command) {
+        command.failure = null;
+        try {
+            command.runInOwnTransaction(deadlockRetryExecutor);
+            command.complete();
+        } catch (RuntimeException e) {
+            command.fail(e);
+        }
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        // 커미터와 (대기 초과한) 요청 스레드 중 먼저 가져간 쪽만 실행
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private T result;
+        private RuntimeException failure;
+
+        private Command(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void run() {
+            result = work.get();
+        }
+
+        private void runInOwnTransaction(DeadlockRetryExecutor executor) {
+            result = executor.execute(work);
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private void fail(Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
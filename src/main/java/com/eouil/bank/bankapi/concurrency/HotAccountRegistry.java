@@ -0,0 +1,111 @@
+package com.eouil.bank.bankapi.concurrency;
+
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 계좌별 잔액 버킷 수 로컬 캐시
+// 값이 잠깐 틀려도 잔액은 맞음: 버킷 계좌를 일반 계좌로 보면 계좌 행에 입금하고 (출금 실패 전에는 DB 버킷 행을 직접 정리),
+// 해제된 계좌를 버킷 계좌로 보면 버킷 행이 없어서 일반 입금으로 다시 처리
+// 설정 변경은 커밋 후 무효화하고 Redis 로 다른 인스턴스에도 알림 (발행 실패 시 TTL 까지 이전 값)
+@Slf4j
+@Component
+public class HotAccountRegistry {
+    // 버킷 설정 변경 이벤트 채널 (다른 인스턴스 로컬 캐시 무효화용)
+    private static final String CHANGE_CHANNEL = "ACCT:BUCKET:EVENTS";
+
+    private final AccountJdbcRepository accountJdbcRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean broadcastEnabled;
+    private final ExpiringCache<String, Integer> bucketCounts;
+    private final long ttlMillis;
+
+    public HotAccountRegistry(AccountJdbcRepository accountJdbcRepository,
+                              RedisTemplate<String, String> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              @Value("${custom.transaction.balance-bucket.broadcast-enabled:true}") boolean broadcastEnabled,
+                              @Value("${custom.transaction.balance-bucket.cache-max-size:10000}") int maxSize,
+                              @Value("${custom.transaction.balance-bucket.cache-ttl-ms:60000}") long ttlMillis) {
+        this.accountJdbcRepository = accountJdbcRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.broadcastEnabled = broadcastEnabled;
+        this.bucketCounts = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    @PostConstruct
+    void subscribeChangeEvents() {
+        if (!broadcastEnabled) {
+            return;
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    public int bucketCount(String accountNumber) {
+        if (accountNumber == null) {
+            return 0;
+        }
+        Integer cached = bucketCounts.get(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+        int count = accountJdbcRepository.findBucketCount(accountNumber);
+        bucketCounts.put(accountNumber, count, System.currentTimeMillis() + ttlMillis);
+        return count;
+    }
+
+    public boolean isBucketed(String accountNumber) {
+        return bucketCount(accountNumber) > 0;
+    }
+
+    // 입금 버킷은 무작위 선택 (특정 버킷에 몰리지 않도록)
+    public int pickBucket(int bucketCount) {
+        return ThreadLocalRandom.current().nextInt(bucketCount);
+    }
+
+    public void invalidate(String accountNumber) {
+        bucketCounts.remove(accountNumber);
+    }
+
+    // 버킷 수 변경 트랜잭션이 커밋된 뒤 무효화 + 다른 인스턴스에 알림
+    // 커밋 전에 지우면 그 사이 다른 요청이 이전 값을 다시 읽어 TTL 동안 캐시할 수 있음
+    public void invalidateAfterCommit(String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateEverywhere(accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateEverywhere(accountNumber);
+            }
+        });
+    }
+
+    private void invalidateEverywhere(String accountNumber) {
+        invalidate(accountNumber);
+        if (!broadcastEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, accountNumber);
+        } catch (Exception e) {
+            log.warn("[BALANCE BUCKET] 변경 이벤트 발행 실패 - 다른 인스턴스는 캐시 만료까지 이전 버킷 수 사용: {}", e.getMessage());
+        }
+    }
+}
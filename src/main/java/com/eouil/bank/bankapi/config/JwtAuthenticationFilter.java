@@ -1,7 +1,8 @@
 package com.eouil.bank.bankapi.config;
 
-import com.eouil.bank.bankapi.domains.User;
-import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.logging.TraceContext;
+import com.eouil.bank.bankapi.security.ActiveUserCache;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
 import com.eouil.bank.bankapi.services.RedisTokenService;
 import com.eouil.bank.bankapi.utils.JwtUtil;
 import io.jsonwebtoken.JwtException;
@@ -9,6 +10,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -22,15 +24,15 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final ActiveUserCache activeUserCache;
     private final RedisTokenService redisTokenService;
     private final JwtUtil jwtUtil;
 
     @Autowired
     private SecurityMetrics securityMetrics;
 
-    public JwtAuthenticationFilter(UserRepository userRepository, RedisTokenService redisTokenService, JwtUtil jwtUtil) {
-        this.userRepository = userRepository;
+    public JwtAuthenticationFilter(ActiveUserCache activeUserCache, RedisTokenService redisTokenService, JwtUtil jwtUtil) {
+        this.activeUserCache = activeUserCache;
         this.redisTokenService = redisTokenService;
         this.jwtUtil = jwtUtil;
     }
@@ -54,28 +56,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = request.getHeader("Authorization");
 
-        if (redisTokenService.isBlacklisted(token)) {
-            throw new JwtException("Blacklisted token");
-        }
-
         // 토큰이 없으면 인증 안된 상태로 통과 (403 발생 안 하게)
         if (token == null || !token.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        token = token.replace("Bearer ", "");
+        token = token.substring(7);
         try {
-            String userId = jwtUtil.validateTokenAndGetUserId(token);
+            // 로그아웃된 토큰 (로컬 필터에서 확실히 아니면 Redis 조회 생략)
+            if (redisTokenService.isBlacklisted(token)) {
+                throw new JwtException("Blacklisted token");
+            }
+
+            AuthenticatedUser principal = AuthenticatedUser.from(jwtUtil.parseClaims(token));
 
-            //유저 검증
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            //유저 검증 (로컬 캐시 → 미스일 때만 DB 확인)
+            if (!activeUserCache.isActive(principal.getUserId())) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not found");
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    user.getUserId(), null, null
+                    principal, null, null
             );
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            // 이미 검증한 principal 로 로그 userId 설정 (MDC 정리는 LogFilter)
+            MDC.put(TraceContext.USER_ID, principal.getUserId());
 
         } catch (JwtException | IllegalArgumentException e) {
         //인증 실패 → 명시적으로 401 Unauthorized 반환/메트릭 증가
@@ -1,11 +1,15 @@
 package com.eouil.bank.bankapi.config;
 
+import com.eouil.bank.bankapi.logging.HotPathLogSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.PushGateway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -38,6 +42,14 @@ public class MetricsConfig {
         this.pushGatewayPort = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
     }
 
+    // 샘플링으로 버린 이체 / 출금 / 입금 INFO 로그 수 (logback-spring.xml 의 HotPathLogSampler)
+    @Bean
+    public MeterBinder logSamplingMetrics() {
+        return registry -> FunctionCounter.builder("log_sampled_out_total", HotPathLogSampler.class,
+                        sampler -> HotPathLogSampler.sampledOutCount())
+                .register(registry);
+    }
+
     @Scheduled(fixedRate = 30000) // 30초마다 실행
     public void pushMetrics() {
         CollectorRegistry collectorRegistry = meterRegistry.getPrometheusRegistry();
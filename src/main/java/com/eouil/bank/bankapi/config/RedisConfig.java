@@ -1,23 +1,57 @@
 package com.eouil.bank.bankapi.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
+
+    private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    // 접속 정보 / 타임아웃은 spring.data.redis.* 에서 읽음
+    // 반환 타입을 LettuceConnectionFactory 로 둬야 ReactiveRedisConnectionFactory 로도 주입됨
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties properties) {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName("52.78.24.102");
-        config.setPort(6379);
-        config.setPassword(RedisPassword.of("Eouil123"));
-        return new LettuceConnectionFactory(config); // 기본 Redis 연결
+        config.setHostName(properties.getHost());
+        config.setPort(properties.getPort());
+        if (properties.getPassword() != null && !properties.getPassword().isEmpty()) {
+            config.setPassword(RedisPassword.of(properties.getPassword()));
+        }
+
+        Duration commandTimeout = properties.getTimeout() != null ? properties.getTimeout() : DEFAULT_COMMAND_TIMEOUT;
+        Duration connectTimeout = properties.getConnectTimeout() != null ? properties.getConnectTimeout() : DEFAULT_CONNECT_TIMEOUT;
+
+        ClientOptions clientOptions = ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                // 연결이 끊긴 동안 명령을 버퍼에 쌓아두지 않고 바로 실패 (재연결까지 요청이 타임아웃만큼 묶이지 않도록)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+
+        // Lettuce 는 커넥션 하나를 여러 스레드가 공유(멀티플렉싱)하므로 풀 없이 사용
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(Duration.ofMillis(100))
+                .clientOptions(clientOptions)
+                .build();
+        return new LettuceConnectionFactory(config, clientConfig);
     }
 
     @Bean
@@ -32,4 +66,18 @@ public class RedisConfig {
 
         return template;
     }
+
+    // 토큰 저장 / 블랙리스트 조회용 non-blocking 클라이언트 (같은 Lettuce 커넥션 공유)
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(LettuceConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    // 블랙리스트 이벤트 pub/sub 구독용
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
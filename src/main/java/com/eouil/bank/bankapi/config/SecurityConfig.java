@@ -1,13 +1,15 @@
 package com.eouil.bank.bankapi.config;
 
-import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.ActiveUserCache;
+import com.eouil.bank.bankapi.security.BoundedPasswordEncoder;
 import com.eouil.bank.bankapi.services.RedisTokenService;
 import com.eouil.bank.bankapi.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,8 +23,8 @@ public class SecurityConfig {
 
     // JwtAuthenticationFilter를 Bean으로 등록
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(UserRepository userRepository, RedisTokenService redisTokenService, JwtUtil jwtUtil) {
-        return new JwtAuthenticationFilter(userRepository, redisTokenService, jwtUtil);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(ActiveUserCache activeUserCache, RedisTokenService redisTokenService, JwtUtil jwtUtil) {
+        return new JwtAuthenticationFilter(activeUserCache, redisTokenService, jwtUtil);
     }
 
     // SecurityFilterChain 설정
@@ -37,7 +39,7 @@ public class SecurityConfig {
                             "http://localhost:5173"
                     ));
                     config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-                    config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+                    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key"));
                     config.setAllowCredentials(true);
                     return config;
                 }))
@@ -59,9 +61,20 @@ public class SecurityConfig {
         return http.build();
     }
 
-    // 비밀번호 인코더
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // 비밀번호 인코더 - BCrypt 는 전용 풀에서만 계산, cost 는 설정값 고정 (calibrate 를 켜면 기동 시 이 장비 기준으로 보정)
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry registry,
+                                           @Value("${custom.auth.password-hash.cost:10}") int fixedCost,
+                                           @Value("${custom.auth.password-hash.calibrate:false}") boolean calibrate,
+                                           @Value("${custom.auth.password-hash.target-ms:250}") long targetMillis,
+                                           @Value("${custom.auth.password-hash.min-cost:10}") int minCost,
+                                           @Value("${custom.auth.password-hash.max-cost:14}") int maxCost,
+                                           @Value("${custom.auth.password-hash.threads:0}") int threads,
+                                           @Value("${custom.auth.password-hash.queue-capacity:200}") int queueCapacity,
+                                           @Value("${custom.auth.password-hash.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        int cost = calibrate ? BoundedPasswordEncoder.calibrate(targetMillis, minCost, maxCost) : fixedCost;
+        // 기본은 코어 절반 - 로그인이 몰려도 나머지 API 가 쓸 CPU 는 남겨둠
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(registry, cost, poolSize, queueCapacity, waitTimeoutMillis);
     }
 }
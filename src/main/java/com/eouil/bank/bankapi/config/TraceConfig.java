@@ -0,0 +1,94 @@
+package com.eouil.bank.bankapi.config;
+
+import com.eouil.bank.bankapi.logging.TraceContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+// 요청 스레드 밖에서 도는 작업에도 trace id 가 찍히도록
+// - applicationTaskExecutor (MVC 비동기 / 스트리밍 응답): 제출한 요청의 MDC 를 옮김
+// - @Scheduled: 실행마다 새 trace 시작
+@Configuration
+public class TraceConfig implements SchedulingConfigurer {
+
+    private final ObjectProvider<TaskScheduler> taskScheduler;
+    private ThreadPoolTaskScheduler fallbackScheduler;
+
+    public TraceConfig(ObjectProvider<TaskScheduler> taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    // Spring Boot 가 applicationTaskExecutor 에 적용
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return TraceContext::wrap;
+    }
+
+    // Boot 가 만든 스케줄러(가상 스레드 설정 포함)는 그대로 쓰고 작업만 감쌈
+    // 빈으로 등록하면 Boot 기본 스케줄러가 빠지므로 registrar 에만 설정 (Boot 스케줄러가 없으면 기본과 같은 단일 스레드)
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        TaskScheduler delegate = taskScheduler.getIfAvailable(() -> {
+            fallbackScheduler = new ThreadPoolTaskScheduler();
+            fallbackScheduler.setThreadNamePrefix("scheduling-");
+            fallbackScheduler.initialize();
+            return fallbackScheduler;
+        });
+        registrar.setTaskScheduler(new TracingTaskScheduler(delegate));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fallbackScheduler != null) {
+            fallbackScheduler.shutdown();
+        }
+    }
+
+    private record TracingTaskScheduler(TaskScheduler delegate) implements TaskScheduler {
+
+        private static Runnable traced(Runnable task) {
+            return () -> TraceContext.run(null, task);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+            return delegate.schedule(traced(task), trigger);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+            return delegate.schedule(traced(task), startTime);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+            return delegate.scheduleAtFixedRate(traced(task), startTime, period);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+            return delegate.scheduleAtFixedRate(traced(task), period);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+            return delegate.scheduleWithFixedDelay(traced(task), startTime, delay);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+            return delegate.scheduleWithFixedDelay(traced(task), delay);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.eouil.bank.bankapi.config;
+
+import com.eouil.bank.bankapi.concurrency.BulkheadDataSource;
+import com.eouil.bank.bankapi.concurrency.ConnectionBulkhead;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// 가상 스레드 모드 (spring.threads.virtual.enabled=true)
+// Tomcat 요청 처리 / @Scheduled 는 Spring Boot 가 가상 스레드로 전환하고, 여기서는 DB 커넥션 bulkhead 를 붙임
+@Configuration
+@ConditionalOnProperty(name = "custom.datasource.bulkhead.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public ConnectionBulkhead connectionBulkhead(
+            @Value("${custom.datasource.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${custom.datasource.bulkhead.max-waiting:1000}") int maxWaiting,
+            @Value("${custom.datasource.bulkhead.acquire-timeout-ms:3000}") long acquireTimeoutMillis) {
+        return new ConnectionBulkhead(maxConcurrent, maxWaiting, acquireTimeoutMillis);
+    }
+
+    // DataSource 빈을 bulkhead 로 감쌈 (static: 다른 빈보다 먼저 등록되어야 하는 BeanPostProcessor)
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(ObjectProvider<ConnectionBulkhead> bulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, bulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionBulkheadMetrics(ConnectionBulkhead bulkhead) {
+        return registry -> {
+            Gauge.builder("db_bulkhead_waiting", bulkhead, ConnectionBulkhead::waiting)
+                    .description("커넥션 허가를 기다리는 스레드 수")
+                    .register(registry);
+            Gauge.builder("db_bulkhead_available", bulkhead, ConnectionBulkhead::available)
+                    .register(registry);
+        };
+    }
+}
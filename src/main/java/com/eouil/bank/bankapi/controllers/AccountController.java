@@ -1,14 +1,16 @@
 package com.eouil.bank.bankapi.controllers;
 
+import com.eouil.bank.bankapi.dtos.requests.BalanceBucketRequest;
 import com.eouil.bank.bankapi.dtos.requests.CreateAccountRequest;
 import com.eouil.bank.bankapi.dtos.responses.CreateAccountResponse;
 import com.eouil.bank.bankapi.dtos.responses.GetMyAccountResponse;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
 import com.eouil.bank.bankapi.services.AccountService;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.eouil.bank.bankapi.metrics.SecurityMetrics;
@@ -32,11 +34,10 @@ public class AccountController {
 
     @PostMapping("/accounts")
     public ResponseEntity<CreateAccountResponse> createAccount(
-            @Valid @RequestBody CreateAccountRequest createRequest) {
-
-        String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        log.info("[POST /accounts] 계좌 생성 요청 - 사용자 ID: {}, 요청 정보: {}", userId, createRequest);
+            @Valid @RequestBody CreateAccountRequest createRequest,
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
+        String userId = user.getUserId();
         CreateAccountResponse response = accountService.createAccount(createRequest, userId);
 
         log.info("[POST /accounts] 계좌 생성 완료 - 계좌 번호: {}", response.getAccountNumber());
@@ -45,10 +46,10 @@ public class AccountController {
 
     @GetMapping("/accounts/me")
     public ResponseEntity<List<GetMyAccountResponse>> getMyAccount(
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        log.info("[GET /accounts/me] 내 계좌 목록 조회 요청 (토큰 일부: {}...)", token.substring(0, Math.min(10, token.length())));
-        List<GetMyAccountResponse> responses = accountService.getMyaccount(token);
+        log.info("[GET /accounts/me] 내 계좌 목록 조회 요청 - 사용자 ID: {}", user.getUserId());
+        List<GetMyAccountResponse> responses = accountService.getMyaccount(user);
 
         // 민감 데이터 접근 메트릭 추가
         securityMetrics.incrementSensitiveDataAccess();
@@ -57,4 +58,18 @@ public class AccountController {
 
         return ResponseEntity.ok(responses);
     }
-}
\ No newline at end of file
+
+    // 입금이 몰리는 계좌(가맹점 정산 등)의 잔액을 여러 행으로 분산
+    @PutMapping("/accounts/{accountNumber}/buckets")
+    public ResponseEntity<GetMyAccountResponse> configureBalanceBuckets(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody BalanceBucketRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        log.info("[PUT /accounts/{}/buckets] 버킷 설정 요청 - 사용자 ID: {}, 버킷 수: {}",
+                accountNumber, user.getUserId(), request.getBucketCount());
+        GetMyAccountResponse response = accountService.configureBalanceBuckets(
+                accountNumber, request.getBucketCount(), user.getUserId());
+        return ResponseEntity.ok(response);
+    }
+}
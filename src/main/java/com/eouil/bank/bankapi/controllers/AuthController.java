@@ -6,15 +6,13 @@ import com.eouil.bank.bankapi.dtos.requests.LoginRequest;
 import com.eouil.bank.bankapi.dtos.responses.LoginResponse;
 import com.eouil.bank.bankapi.dtos.responses.LogoutResponse;
 import com.eouil.bank.bankapi.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import com.eouil.bank.bankapi.metrics.SecurityMetrics;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.BadCredentialsException;
 
 import java.util.Map;
 
@@ -26,30 +24,17 @@ public class AuthController {
 
     private final AuthService authService;
 
-    @Autowired
-    private SecurityMetrics securityMetrics;
-
     @PostMapping("/join")
     public ResponseEntity<JoinResponse> join(@Valid @RequestBody JoinRequest joinRequest) {
-        log.info("[POST /join] 회원가입 요청: {}", joinRequest);
         JoinResponse joinResponse = authService.join(joinRequest);
-        log.info("[POST /join] 회원가입 완료: {}", joinResponse);
         return ResponseEntity.ok(joinResponse);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        log.info("[POST /login] 로그인 요청: {}", loginRequest);
-        try {
-            LoginResponse loginResponse = authService.login(loginRequest);
-            log.info("[POST /login] 로그인 성공: {}", loginResponse);
-            return ResponseEntity.ok(loginResponse);
-        } catch (BadCredentialsException e) {
-            // 로그인 실패시 메트릭 증가
-            securityMetrics.incrementLoginFailure();
-            log.warn("[POST /login] 로그인 실패: 잘못된 자격 증명");
-            throw e;
-        }
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // 실패 메트릭 / 시도 제한은 AuthService 에서 처리
+        LoginResponse loginResponse = authService.login(loginRequest, request.getRemoteAddr());
+        return ResponseEntity.ok(loginResponse);
     }
 
 
@@ -89,11 +74,11 @@ public class AuthController {
     }
 
     @PostMapping("/mfa/verify")
-    public ResponseEntity<?> verifyMfa(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<?> verifyMfa(@RequestBody Map<String, String> payload, HttpServletRequest request) {
         String email = payload.get("email");
         int code = Integer.parseInt(payload.get("code"));
 
-        boolean result = authService.verifyCode(email, code);
+        boolean result = authService.verifyCode(email, code, request.getRemoteAddr());
         return ResponseEntity.ok(Map.of("success", result));
     }
 }
\ No newline at end of file
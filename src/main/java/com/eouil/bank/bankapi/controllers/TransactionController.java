@@ -1,16 +1,31 @@
 package com.eouil.bank.bankapi.controllers;
 
+import com.eouil.bank.bankapi.dtos.requests.BulkTransferRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.DepositRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.TransactionHistoryRequest;
+import com.eouil.bank.bankapi.dtos.requests.TransactionHistorySearchRequest;
 import com.eouil.bank.bankapi.dtos.requests.TransferRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.dtos.responses.BulkTransferResponseDTO;
 import com.eouil.bank.bankapi.dtos.responses.TransactionHistoryResponse;
+import com.eouil.bank.bankapi.dtos.responses.TransactionPageResponse;
 import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.IdempotencyService;
 import com.eouil.bank.bankapi.services.TransactionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.List;
 
@@ -20,49 +35,99 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    // 클라이언트 재시도 시 같은 값을 보내면 한 번만 처리
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/transfer")
     public ResponseEntity<TransactionResponseDTO> transfer(
             @RequestBody TransferRequestDTO request,
-            @RequestHeader("Authorization") String token
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        log.info("[POST /transfer] 요청 도착: {}", request);
-        TransactionResponseDTO response = transactionService.transfer(request, token);
-        log.info("[POST /transfer] 처리 완료: {}", response);
+        TransactionResponseDTO response = idempotencyService.execute(user.getUserId(), "transfer", idempotencyKey, request,
+                () -> transactionService.transfer(request, user));
+        return ResponseEntity.ok(response);
+    }
+
+    // 일괄 이체 (급여 지급 등 한 계좌 → 여러 계좌)
+    @PostMapping("/transfer/bulk")
+    public ResponseEntity<BulkTransferResponseDTO> bulkTransfer(
+            @RequestBody BulkTransferRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        log.info("[POST /transfer/bulk] 요청 도착 - 출금계좌: {}, 건수: {}",
+                request.getFromAccountNumber(), request.getLegs() != null ? request.getLegs().size() : 0);
+        BulkTransferResponseDTO response = transactionService.bulkTransfer(request, user);
+        log.info("[POST /transfer/bulk] 처리 완료 - 성공: {}, 실패: {}", response.getCompletedCount(), response.getFailedCount());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionResponseDTO> withdraw(
             @RequestBody WithdrawRequestDTO request,
-            @RequestHeader("Authorization") String token
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        log.info("[POST /withdraw] 요청 도착: {}", request);
-        TransactionResponseDTO response = transactionService.withdraw(request, token);
-        log.info("[POST /withdraw] 처리 완료: {}", response);
+        TransactionResponseDTO response = idempotencyService.execute(user.getUserId(), "withdraw", idempotencyKey, request,
+                () -> transactionService.withdraw(request, user));
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/deposit")
     public ResponseEntity<TransactionResponseDTO> deposit(
             @RequestBody DepositRequestDTO request,
-            @RequestHeader("Authorization") String token
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        log.info("[POST /deposit] 요청 도착: {}", request);
-        TransactionResponseDTO response = transactionService.deposit(request, token);
-        log.info("[POST /deposit] 처리 완료: {}", response);
+        TransactionResponseDTO response = idempotencyService.execute(user.getUserId(), "deposit", idempotencyKey, request,
+                () -> transactionService.deposit(request, user));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
     public ResponseEntity<List<TransactionResponseDTO>> getTransactions(
-            @RequestHeader("Authorization") String authorizationHeader
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        String token = authorizationHeader.replace("Bearer ", "");
-        log.info("[GET /transactions] 요청 도착 (토큰: {})", token.substring(0, Math.min(token.length(), 10)) + "...");
-        List<TransactionResponseDTO> transactions = transactionService.getTransactions(token);
+        log.info("[GET /transactions] 요청 도착 - 사용자: {}", user.getUserId());
+        List<TransactionResponseDTO> transactions = transactionService.getTransactions(user);
         log.info("[GET /transactions] 조회 완료: {}건", transactions.size());
         return ResponseEntity.ok(transactions);
     }
+
+    // 커서 기반 거래내역 (기간 / 유형 필터)
+    @GetMapping("/history")
+    public ResponseEntity<TransactionPageResponse> getTransactionHistory(
+            @ModelAttribute TransactionHistorySearchRequest search,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        log.info("[GET /transactions/history] 요청 도착 - 사용자: {}", user.getUserId());
+        TransactionPageResponse response = transactionService.getTransactionHistory(user, search);
+        return ResponseEntity.ok(response);
+    }
+
+    // 전체 거래내역 스트리밍 (NDJSON, 한 줄에 거래 하나)
+    @GetMapping(value = "/history/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactionHistory(
+            @ModelAttribute TransactionHistorySearchRequest search,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        log.info("[GET /transactions/history/stream] 요청 도착 - 사용자: {}", user.getUserId());
+        // writeValue 는 기본적으로 대상 스트림을 닫으므로 AUTO_CLOSE_TARGET 을 끈 writer 사용
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> transactionService.streamTransactionHistory(user, search, tx -> {
+            try {
+                writer.writeValue(out, tx);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
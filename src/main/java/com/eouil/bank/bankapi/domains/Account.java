@@ -1,15 +1,18 @@
 package com.eouil.bank.bankapi.domains;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Getter@Setter
-public class Account {
+public class Account implements Persistable<String> {
     @Id
     @Column(length = 20)
     private String accountNumber;
@@ -17,4 +20,31 @@ public class Account {
     private User user;
     private BigDecimal balance;
     private LocalDateTime createdAt;
+    // 0 이면 balance 한 행만 사용, K 이면 입금을 account_balance_bucket K개 행에 나눠서 받음 (입금이 몰리는 정산 계좌용)
+    // 실제 잔액 = balance + 버킷 합계
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int bucketCount;
+
+    // 계좌번호를 직접 지정하는 엔티티라 save() 가 merge(SELECT 후 INSERT) 로 가지 않도록 새 엔티티 여부를 직접 판단
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return accountNumber;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -0,0 +1,27 @@
+package com.eouil.bank.bankapi.domains;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+// 핫 계좌 잔액 버킷 (입금은 임의의 버킷 행 하나만 잠그므로 같은 계좌 입금끼리 경합하지 않음)
+// 쓰기/읽기는 JDBC 로만 하고 엔티티는 스키마 정의용
+@Entity
+@Getter
+@Table(name = "account_balance_bucket",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_bucket", columnNames = {"account_number", "bucket_no"}))
+public class AccountBalanceBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 20, nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private int bucketNo;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+}
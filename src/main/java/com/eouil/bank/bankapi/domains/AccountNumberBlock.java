@@ -0,0 +1,21 @@
+package com.eouil.bank.bankapi.domains;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 계좌번호 일련번호 발급 위치 (hi-lo)
+// 인스턴스는 next_value 를 블록 크기만큼 올려서 [이전 값, 새 값) 구간을 통째로 가져가고 메모리에서 나눠 씀
+@Entity
+@Getter
+@Table(name = "account_number_block")
+public class AccountNumberBlock {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    private long nextValue;
+
+    private LocalDateTime updatedAt;
+}
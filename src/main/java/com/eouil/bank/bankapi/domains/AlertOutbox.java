@@ -0,0 +1,46 @@
+package com.eouil.bank.bankapi.domains;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 발송 대기 알림 (출금 트랜잭션과 같이 커밋 → 재시작해도 유실 없음)
+@Entity
+@Getter@Setter
+@Table(name = "alert_outbox", indexes = {
+        @Index(name = "idx_alert_outbox_due", columnList = "status, next_attempt_at")
+})
+public class AlertOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(length = 20, nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private AlertStatus status;
+
+    private int attempts;
+
+    // 이 시각 이후에만 스위퍼가 다시 가져감 (처리 중 임대 / 재시도 백오프)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    // 알림을 만든 요청의 W3C traceparent - 워커 / 스위퍼 발송 로그를 원래 요청과 연결
+    @Column(length = 55)
+    private String traceParent;
+}
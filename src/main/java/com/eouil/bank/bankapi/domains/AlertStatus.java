@@ -0,0 +1,7 @@
+package com.eouil.bank.bankapi.domains;
+
+public enum AlertStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.eouil.bank.bankapi.domains;
+
+public enum BulkTransferMode {
+    // 한 건이라도 실패하면 아무것도 반영하지 않음
+    ALL_OR_NOTHING,
+    // 가능한 건만 반영하고 나머지는 실패로 보고
+    BEST_EFFORT
+}
@@ -0,0 +1,27 @@
+package com.eouil.bank.bankapi.domains;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// transaction 테이블에 JDBC로 바로 쓰는 원장 한 건 (Account 엔티티 로딩 없이 계좌번호만 보관)
+@Getter
+@Builder
+public class LedgerEntry {
+
+    // INSERT 후 생성된 키로 채워짐
+    @Setter
+    private Long transactionId;
+
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private TransactionType type;
+    private BigDecimal amount;
+    private String memo;
+    private TransactionStatus status;
+    private BigDecimal balanceAfter;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.eouil.bank.bankapi.domains;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 원장 이벤트 outbox (원장 INSERT 와 같은 트랜잭션에서 기록, LedgerOutboxRelay 가 미발행 행을 발행)
+// 쓰기/읽기는 JDBC 로만 하고 엔티티는 스키마 정의용
+@Entity
+@Getter
+@Table(name = "ledger_outbox", indexes = {
+        @Index(name = "idx_ledger_outbox_unpublished", columnList = "published_at, id")
+})
+public class LedgerOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(length = 20)
+    private String fromAccountNumber;
+
+    @Column(length = 20)
+    private String toAccountNumber;
+
+    @Column(length = 20, nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    private String memo;
+
+    @Column(length = 20)
+    private String status;
+
+    private BigDecimal balanceAfter;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 싱크 발행 성공 시각 (null 이면 미발행)
+    private LocalDateTime publishedAt;
+}
@@ -9,17 +9,23 @@ import java.time.LocalDateTime;
 
 @Entity
 @Getter
+@Table(indexes = {
+        // 거래내역 조회: 출금/입금 계좌별로 (계좌, 시간, id) 순서 그대로 읽도록
+        @Index(name = "idx_transaction_from_created", columnList = "from_account_number, created_at, transaction_id"),
+        @Index(name = "idx_transaction_to_created", columnList = "to_account_number, created_at, transaction_id")
+})
 public class Transaction {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long transactionId;
 
-    @ManyToOne
+    // 조회는 TransactionQueryRepository 의 컬럼 프로젝션으로 처리 - 엔티티 로딩 시 계좌까지 끌어오지 않음
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "fromAccountNumber")
     private Account fromAccount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "toAccountNumber")
     private Account toAccount;
 
@@ -1,16 +1,20 @@
 package com.eouil.bank.bankapi.domains;
 
+import com.eouil.bank.bankapi.security.ActiveUserCacheListener;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(ActiveUserCacheListener.class)
 @Getter@Setter
-public class User {
+public class User implements Persistable<String> {
     @Id
     @Column(length = 36)
     private String userId;
@@ -26,4 +30,26 @@ public class User {
 
     //Google MFA
     private String mfaSecret;
+
+    // userId 를 직접 지정하므로 가입 시 save() 가 merge(SELECT 후 INSERT) 로 가지 않도록 (Account 와 같은 방식)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -0,0 +1,17 @@
+package com.eouil.bank.bankapi.dtos.requests;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+// 입금이 몰리는 계좌의 잔액 버킷 수 설정 (0 이면 해제)
+@Getter@Setter
+public class BalanceBucketRequest {
+
+    @NotNull(message = "버킷 수는 필수 항목입니다.")
+    @Min(value = 0, message = "버킷 수는 0 이상이어야 합니다.")
+    @Max(value = 64, message = "버킷 수는 64 이하여야 합니다.")
+    private Integer bucketCount;
+}
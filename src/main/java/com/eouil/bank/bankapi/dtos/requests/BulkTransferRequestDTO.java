@@ -0,0 +1,22 @@
+package com.eouil.bank.bankapi.dtos.requests;
+
+import com.eouil.bank.bankapi.domains.BulkTransferMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 한 출금 계좌에서 여러 계좌로 일괄 이체 (급여 지급 등)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransferRequestDTO {
+
+    private String fromAccountNumber;
+    // 비우면 ALL_OR_NOTHING
+    private BulkTransferMode mode;
+    private List<BulkTransferLegDTO> legs;
+}
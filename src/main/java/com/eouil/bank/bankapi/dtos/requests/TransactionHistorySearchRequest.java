@@ -0,0 +1,31 @@
+package com.eouil.bank.bankapi.dtos.requests;
+
+import com.eouil.bank.bankapi.domains.TransactionType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// 거래내역 조회 조건 (커서 기반 페이지네이션)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TransactionHistorySearchRequest {
+
+    // 이전 페이지 응답의 nextCursor (첫 페이지는 비움)
+    private String cursor;
+
+    private Integer size;
+
+    // 조회 시작일 (포함)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    // 조회 종료일 (포함)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private TransactionType type;
+}
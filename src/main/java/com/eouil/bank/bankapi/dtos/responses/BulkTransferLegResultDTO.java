@@ -0,0 +1,19 @@
+package com.eouil.bank.bankapi.dtos.responses;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Builder
+@Getter
+public class BulkTransferLegResultDTO {
+    // 요청 legs 안의 위치
+    private int index;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    // COMPLETED / FAILED / SKIPPED (ALL_OR_NOTHING 에서 다른 건 실패로 반영 안 됨)
+    private String status;
+    private Long transactionID;
+    private String reason;
+}
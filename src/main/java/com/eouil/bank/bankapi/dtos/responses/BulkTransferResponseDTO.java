@@ -0,0 +1,20 @@
+package com.eouil.bank.bankapi.dtos.responses;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+@Getter
+public class BulkTransferResponseDTO {
+    private String fromAccountNumber;
+    private String mode;
+    private int requestedCount;
+    private int completedCount;
+    private int failedCount;
+    private BigDecimal totalAmount;
+    private BigDecimal balanceAfter;
+    private List<BulkTransferLegResultDTO> results;
+}
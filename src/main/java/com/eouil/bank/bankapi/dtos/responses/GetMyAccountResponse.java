@@ -2,12 +2,14 @@ package com.eouil.bank.bankapi.dtos.responses;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor
 public class GetMyAccountResponse
 {
     private String accountNumber;
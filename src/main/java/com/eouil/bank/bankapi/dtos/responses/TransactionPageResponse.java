@@ -0,0 +1,15 @@
+package com.eouil.bank.bankapi.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TransactionPageResponse {
+    private List<TransactionResponseDTO> transactions;
+    // 다음 페이지 조회용 커서 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
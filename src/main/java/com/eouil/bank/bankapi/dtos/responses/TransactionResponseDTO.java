@@ -2,11 +2,13 @@ package com.eouil.bank.bankapi.dtos.responses;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Builder
+@Jacksonized // 멱등성 저장소에 보관한 응답을 다시 읽을 때 사용
 @Getter
 public class TransactionResponseDTO {
     private Long transactionID;
@@ -0,0 +1,69 @@
+package com.eouil.bank.bankapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 개발 / 테스트용 싱크 - 로그로 남기고 최근 이벤트만 메모리에 보관
+// 로그 출력(I/O)을 락 안에서 하므로 synchronized 대신 ReentrantLock (가상 스레드 pinning 방지)
+@Slf4j
+@Component
+@Profile("!prod")
+public class InMemoryLedgerEventSink implements LedgerEventSink {
+
+    private final Deque<LedgerEvent> recent = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+
+    public InMemoryLedgerEventSink(@Value("${custom.ledger-outbox.memory-sink.capacity:1000}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        lock.lock();
+        try {
+            for (LedgerEvent event : events) {
+                log.debug("[LEDGER EVENT] outbox={}, tx={}, type={}, from={}, to={}, amount={}",
+                        event.getOutboxId(), event.getTransactionId(), event.getType(),
+                        event.getFromAccountNumber(), event.getToAccountNumber(), event.getAmount());
+                if (recent.size() == capacity) {
+                    recent.removeFirst();
+                }
+                recent.addLast(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<LedgerEvent> recentEvents() {
+        lock.lock();
+        try {
+            return new ArrayList<>(recent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            recent.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
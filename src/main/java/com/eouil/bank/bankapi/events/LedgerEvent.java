@@ -0,0 +1,23 @@
+package com.eouil.bank.bankapi.events;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 완료된 원장 한 건 (at-least-once 로 발행되므로 소비 쪽은 outboxId 로 중복 제거)
+@Getter
+@Builder
+public class LedgerEvent {
+    private final long outboxId;
+    private final Long transactionId;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final String type;
+    private final BigDecimal amount;
+    private final String memo;
+    private final String status;
+    private final BigDecimal balanceAfter;
+    private final LocalDateTime createdAt;
+}
@@ -0,0 +1,12 @@
+package com.eouil.bank.bankapi.events;
+
+import java.util.List;
+
+// 원장 이벤트 발행 대상 (실패 시 예외 → 발행 표시를 하지 않고 다음 주기에 같은 행 재발행)
+public interface LedgerEventSink {
+
+    // 메트릭 태그
+    String name();
+
+    void publish(List<LedgerEvent> events);
+}
@@ -0,0 +1,71 @@
+package com.eouil.bank.bankapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 운영 싱크 - Redis Stream 에 XADD (소비 쪽은 consumer group 으로 읽음)
+@Slf4j
+@Component
+@Profile("prod")
+public class RedisStreamLedgerEventSink implements LedgerEventSink {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String streamKey;
+    private final long maxLength;
+
+    public RedisStreamLedgerEventSink(RedisTemplate<String, String> redisTemplate,
+                                      @Value("${custom.ledger-outbox.redis-stream.key:ledger-events}") String streamKey,
+                                      @Value("${custom.ledger-outbox.redis-stream.max-length:1000000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String name() {
+        return "redis-stream:" + streamKey;
+    }
+
+    @Override
+    public void publish(List<LedgerEvent> events) {
+        for (LedgerEvent event : events) {
+            redisTemplate.opsForStream().add(StreamRecords.string(toFields(event)).withStreamKey(streamKey));
+        }
+        // 오래된 이벤트는 근사 trim (소비 지연이 max-length 를 넘으면 유실되므로 여유 있게 설정)
+        redisTemplate.opsForStream().trim(streamKey, maxLength, true);
+        log.debug("[LEDGER EVENT] Redis Stream {} 발행 - {}건", streamKey, events.size());
+    }
+
+    private Map<String, String> toFields(LedgerEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("outboxId", String.valueOf(event.getOutboxId()));
+        fields.put("transactionId", String.valueOf(event.getTransactionId()));
+        fields.put("type", event.getType());
+        fields.put("amount", event.getAmount().toPlainString());
+        fields.put("createdAt", event.getCreatedAt().toString());
+        if (event.getFromAccountNumber() != null) {
+            fields.put("fromAccountNumber", event.getFromAccountNumber());
+        }
+        if (event.getToAccountNumber() != null) {
+            fields.put("toAccountNumber", event.getToAccountNumber());
+        }
+        if (event.getMemo() != null) {
+            fields.put("memo", event.getMemo());
+        }
+        if (event.getStatus() != null) {
+            fields.put("status", event.getStatus());
+        }
+        if (event.getBalanceAfter() != null) {
+            fields.put("balanceAfter", event.getBalanceAfter().toPlainString());
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eouil.bank.bankapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 고액 출금 알림 outbox 저장 이벤트 (커밋 후 AlertDispatcher 가 발송)
+@Getter
+@AllArgsConstructor
+public class SuspiciousWithdrawalEvent {
+    private final Long outboxId;
+}
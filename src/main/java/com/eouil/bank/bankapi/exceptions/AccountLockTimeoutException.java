@@ -0,0 +1,8 @@
+package com.eouil.bank.bankapi.exceptions;
+
+// 같은 계좌에 요청이 몰려 락 대기 시간이 초과된 경우
+public class AccountLockTimeoutException extends RuntimeException {
+    public AccountLockTimeoutException() {
+        super("요청이 많아 계좌 처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
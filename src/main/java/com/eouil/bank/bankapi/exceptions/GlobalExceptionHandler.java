@@ -2,6 +2,7 @@ package com.eouil.bank.bankapi.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -60,7 +61,56 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(400, "요청 파라미터 타입이 잘못되었습니다."));
     }
 
-    // 5. 알 수 없는 예외 (500)
+    // 5. 잘못된 페이지 커서 (400)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("[Invalid Cursor] {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(ErrorResponse.of(400, ex.getMessage()));
+    }
+
+    // 6. 계좌 락 대기 시간 초과 (503)
+    @ExceptionHandler(AccountLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleAccountLockTimeout(AccountLockTimeoutException ex) {
+        log.warn("[Account Lock Timeout] {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(503, ex.getMessage()));
+    }
+
+    // 7. 멱등성 키 충돌 (409)
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        log.warn("[Idempotency Conflict] {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(409, ex.getMessage()));
+    }
+
+    // 8. 비밀번호 해시 풀 포화 (429)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        log.warn("[Password Hashing Busy] {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(429, ex.getMessage()));
+    }
+
+    // 9. 로그인 시도 한도 초과 (429)
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex) {
+        log.warn("[Too Many Login Attempts] retryAfter: {}s", ex.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(429, ex.getMessage()));
+    }
+
+    // 10. 그룹 커밋 결과 대기 시간 초과 (503) - 커밋 여부를 모르므로 재시도 전에 내역 확인
+    @ExceptionHandler(GroupCommitTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleGroupCommitTimeout(GroupCommitTimeoutException ex) {
+        log.warn("[Group Commit Timeout] {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(503, ex.getMessage()));
+    }
+
+    // 11. 알 수 없는 예외 (500)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAll(Exception ex) {
         log.error("[Unhandled Exception] {}", ex.getMessage(), ex);
@@ -0,0 +1,8 @@
+package com.eouil.bank.bankapi.exceptions;
+
+// 그룹 커밋 묶음에서 실행 중인 작업의 결과를 제한 시간 안에 받지 못한 경우 (커밋 여부 미확정)
+public class GroupCommitTimeoutException extends RuntimeException {
+    public GroupCommitTimeoutException() {
+        super("처리 결과 확인이 지연되고 있습니다. 거래 내역을 확인한 뒤 다시 시도해주세요.");
+    }
+}
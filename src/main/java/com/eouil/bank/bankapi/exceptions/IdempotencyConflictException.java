@@ -0,0 +1,8 @@
+package com.eouil.bank.bankapi.exceptions;
+
+// 같은 Idempotency-Key 가 아직 처리 중이거나 다른 요청 내용으로 재사용된 경우
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
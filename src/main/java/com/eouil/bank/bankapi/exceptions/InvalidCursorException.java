@@ -0,0 +1,7 @@
+package com.eouil.bank.bankapi.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("잘못된 페이지 커서입니다.");
+    }
+}
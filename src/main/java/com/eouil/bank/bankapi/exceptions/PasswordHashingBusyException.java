@@ -0,0 +1,8 @@
+package com.eouil.bank.bankapi.exceptions;
+
+// 비밀번호 해시 풀이 가득 차서 로그인 / 가입 요청을 받을 수 없는 경우
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
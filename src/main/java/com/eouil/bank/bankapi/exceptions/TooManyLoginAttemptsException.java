@@ -0,0 +1,14 @@
+package com.eouil.bank.bankapi.exceptions;
+
+import lombok.Getter;
+
+// 로그인 / MFA 인증 실패가 한도를 넘어 일정 시간 잠긴 경우
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,101 @@
+package com.eouil.bank.bankapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 이체 / 출금 / 입금처럼 요청마다 찍히는 INFO 로그 제한 (logback-spring.xml 에서 설정)
+// 태그([TRANSFER] 등)별로 초당 maxPerSecond 건까지는 모두 남기고, 넘는 부분은 sampleRate 건 중 1건만 남김
+// 메시지 포맷팅 / 이벤트 생성 전에 판단하므로 버린 로그는 비용이 거의 없음, WARN 이상은 항상 통과
+public class HotPathLogSampler extends TurboFilter {
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    private String loggerName;
+    private String[] tags = new String[0];
+    private int maxPerSecond = 100;
+    private int sampleRate = 100;
+    // 태그별 (초 << 32 | 해당 초 건수)
+    private AtomicLong[] windows = new AtomicLong[0];
+
+    // 버린 로그 수 (메트릭용)
+    public static long sampledOutCount() {
+        return SAMPLED_OUT.sum();
+    }
+
+    @Override
+    public void start() {
+        windows = new AtomicLong[tags.length];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new AtomicLong();
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isInfoEnabled() 같은 레벨 확인 호출은 format 이 null
+        if (!isStarted() || format == null || level.toInt() > Level.INFO_INT || !logger.getName().equals(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        int tag = tagIndex(format);
+        if (tag < 0 || withinLimit(windows[tag])) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.increment();
+        return FilterReply.DENY;
+    }
+
+    private int tagIndex(String format) {
+        for (int i = 0; i < tags.length; i++) {
+            if (format.startsWith(tags[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean withinLimit(AtomicLong window) {
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long state = window.get();
+            long next = (state >>> 32) == second ? state + 1 : second << 32 | 1;
+            if ((int) next > maxPerSecond) {
+                return false;
+            }
+            if (window.compareAndSet(state, next)) {
+                return true;
+            }
+        }
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    // 콤마 구분 ("[TRANSFER],[WITHDRAW]")
+    public void setTags(String tags) {
+        this.tags = Arrays.stream(tags.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = Math.max(0, maxPerSecond);
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+}
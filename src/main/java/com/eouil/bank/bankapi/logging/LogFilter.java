@@ -1,29 +1,23 @@
 package com.eouil.bank.bankapi.logging;
 
-import com.eouil.bank.bankapi.utils.JwtUtil;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
+// 요청마다 trace 시작 (traceparent 헤더가 있으면 이어받음)
+// 다른 필터 로그에도 traceId 가 찍히도록 가장 먼저 실행, userId 는 JwtAuthenticationFilter 가 검증 후 MDC 에 넣음
 @Component
-@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class LogFilter implements Filter {
 
-    private static final String TRACE_ID = "traceId";
-    private static final String USER_ID = "userId";
-    private final JwtUtil jwtUtil;
-
-    public LogFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
-    }
-
     @Override
     public void doFilter(
             jakarta.servlet.ServletRequest request,
@@ -34,21 +28,9 @@ public class LogFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
 
         try {
-            // 1. traceId 생성
-            String traceId = UUID.randomUUID().toString();
-            MDC.put(TRACE_ID, traceId);
+            String traceparent = TraceContext.start(httpRequest.getHeader(TraceContext.HEADER));
+            ((HttpServletResponse) response).setHeader(TraceContext.RESPONSE_HEADER, traceparent);
 
-            // 2. Authorization 헤더에서 userId 추출
-            String authHeader = httpRequest.getHeader("Authorization");
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                String userId = jwtUtil.validateTokenAndGetUserId(token);
-                MDC.put(USER_ID, userId);
-            }
-
-            chain.doFilter(request, response);
-        } catch (Exception e) {
-            log.warn("[MDC Filter Error] {}", e.getMessage());
             chain.doFilter(request, response);
         } finally {
             MDC.clear(); // 꼭 해줘야 메모리 누수 방지됨
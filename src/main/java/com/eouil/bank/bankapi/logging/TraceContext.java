@@ -0,0 +1,174 @@
+package com.eouil.bank.bankapi.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// W3C trace context (traceparent: 00-<trace id 32자리>-<span id 16자리>-<flags>) 와 MDC 연결
+// id 는 ThreadLocalRandom 으로 생성 (UUID.randomUUID 의 공유 SecureRandom 경합 없음, 추측 불가능할 필요 없는 값)
+// 요청 / 스케줄 작업 / 비동기 작업마다 새 span 을 열고, 부모 traceparent 가 있으면 trace id 를 이어받음
+public final class TraceContext {
+
+    public static final String HEADER = "traceparent";
+    // 응답 헤더 - 클라이언트가 로그와 맞춰 볼 수 있게 이 서버 span 을 돌려줌
+    public static final String RESPONSE_HEADER = "traceresponse";
+
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+    public static final String USER_ID = "userId";
+
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceContext() {
+    }
+
+    // 새 span 시작 → MDC 에 traceId / spanId 설정, 이 span 의 traceparent 반환
+    // 부모가 없거나 형식이 틀리면 새 trace
+    public static String start(String parentTraceparent) {
+        String traceId = parseTraceId(parentTraceparent);
+        if (traceId == null) {
+            traceId = newTraceId();
+        }
+        String spanId = newSpanId();
+        MDC.put(TRACE_ID, traceId);
+        MDC.put(SPAN_ID, spanId);
+        return format(traceId, spanId);
+    }
+
+    // 현재 스레드 span 의 traceparent (없으면 null) - 비동기 작업 / outbox 에 넘길 때
+    public static String current() {
+        String traceId = MDC.get(TRACE_ID);
+        String spanId = MDC.get(SPAN_ID);
+        return traceId == null || spanId == null ? null : format(traceId, spanId);
+    }
+
+    // 부모 trace 를 이어받은 새 span 에서 실행 후 이전 MDC 복원
+    public static void run(String parentTraceparent, Runnable task) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        try {
+            MDC.clear();
+            start(parentTraceparent);
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // 제출한 스레드의 MDC(trace / userId)를 실행 스레드로 옮김
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(captured);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Map<String, String> previous) {
+        if (previous == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+
+    // 버전 00 은 길이 55 고정, 이후 버전은 뒤에 필드가 더 붙을 수 있음 (ff 는 무효)
+    // trace id / parent id 는 소문자 hex 이고 전부 0 이면 무효
+    static String parseTraceId(String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        String value = traceparent.trim();
+        if (value.length() < TRACEPARENT_LENGTH
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || !isHex(value, 0, 2) || value.startsWith("ff")
+                || (value.startsWith(VERSION) ? value.length() != TRACEPARENT_LENGTH
+                        : value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-')
+                || !isHex(value, 3, 35) || isZero(value, 3, 35)
+                || !isHex(value, 36, 52) || isZero(value, 36, 52)
+                || !isHex(value, 53, 55)) {
+            return null;
+        }
+        return value.substring(3, 35);
+    }
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String format(String traceId, String spanId) {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + SAMPLED;
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] out = new char[32];
+        writeHex(nonZero(random), out, 0);
+        writeHex(random.nextLong(), out, 16);
+        return new String(out);
+    }
+
+    private static String newSpanId() {
+        char[] out = new char[16];
+        writeHex(nonZero(ThreadLocalRandom.current()), out, 0);
+        return new String(out);
+    }
+
+    private static long nonZero(ThreadLocalRandom random) {
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        return value;
+    }
+
+    private static void writeHex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
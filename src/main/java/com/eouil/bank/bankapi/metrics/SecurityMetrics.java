@@ -12,12 +12,18 @@ public class SecurityMetrics {
     private final Counter unauthorizedAccessCounter;
     private final Counter loginFailuresCounter;
     private final Counter sensitiveDataAccessCounter;
+    private final Counter mfaFailuresCounter;
+    private final Counter loginThrottledCounter;
+    private final Counter loginLockoutCounter;
 
     public SecurityMetrics(MeterRegistry registry) {
         this.jwtInvalidCounter = registry.counter("jwt_token_invalid_total");
         this.unauthorizedAccessCounter = registry.counter("unauthorized_access_attempt_total");
         this.loginFailuresCounter = registry.counter("login_failures_total");
         this.sensitiveDataAccessCounter = registry.counter("sensitive_data_access_total");
+        this.mfaFailuresCounter = registry.counter("mfa_failures_total");
+        this.loginThrottledCounter = registry.counter("login_throttled_total");
+        this.loginLockoutCounter = registry.counter("login_lockout_total");
     }
 
     // 잘못된 JWT 토큰 발생
@@ -40,6 +46,21 @@ public class SecurityMetrics {
         sensitiveDataAccessCounter.increment();
     }
 
+    // MFA 코드 검증 실패 발생
+    public void incrementMfaFailure() {
+        mfaFailuresCounter.increment();
+    }
+
+    // 잠금 상태라 로그인 / MFA 요청 거절
+    public void incrementLoginThrottled() {
+        loginThrottledCounter.increment();
+    }
+
+    // 실패 한도 초과로 이메일 / IP 잠금
+    public void incrementLoginLockout() {
+        loginLockoutCounter.increment();
+    }
+
     @Configuration
     public static class MeterRegistryConfig {
 
@@ -0,0 +1,149 @@
+package com.eouil.bank.bankapi.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// 잔액 변경 전용 JDBC 경로
+// 엔티티를 읽어 Java에서 계산 후 save 하는 대신, 조건부 UPDATE 한 문장으로 처리하고 영향받은 행 수로 성공 여부 판단
+@Repository
+@RequiredArgsConstructor
+public class AccountJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 본인 계좌이고 잔액이 충분할 때만 차감
+    public boolean debit(String accountNumber, String userId, BigDecimal amount) {
+        String sql = "UPDATE account SET balance = balance - ? " +
+                "WHERE account_number = ? AND user_user_id = ? AND balance >= ?";
+        return jdbcTemplate.update(sql, amount, accountNumber, userId, amount) == 1;
+    }
+
+    // 본인 계좌일 때만 입금
+    public boolean credit(String accountNumber, String userId, BigDecimal amount) {
+        String sql = "UPDATE account SET balance = balance + ? " +
+                "WHERE account_number = ? AND user_user_id = ?";
+        return jdbcTemplate.update(sql, amount, accountNumber, userId) == 1;
+    }
+
+    // 이체: 출금/입금 두 행을 한 문장으로 갱신
+    // PK IN 조건이라 계좌번호 순서로 row lock이 잡혀 A→B, B→A 동시 이체에도 데드락 없음
+    // 출금 계좌 조건(본인 소유, 잔액 충분)이 안 맞으면 1행만 갱신되므로 2행이 아니면 실패
+    public boolean transfer(String fromAccountNumber, String toAccountNumber, String userId, BigDecimal amount) {
+        String sql = "UPDATE account SET balance = CASE WHEN account_number = ? THEN balance - ? ELSE balance + ? END " +
+                "WHERE account_number IN (?, ?) " +
+                "AND (account_number <> ? OR (user_user_id = ? AND balance >= ?))";
+        return jdbcTemplate.update(sql,
+                fromAccountNumber, amount, amount,
+                fromAccountNumber, toAccountNumber,
+                fromAccountNumber, userId, amount) == 2;
+    }
+
+    // 일괄 이체 입금: 계좌별 합산 금액을 batch UPDATE 로 반영 (행 락은 호출 쪽에서 미리 잡은 상태)
+    public void creditAll(Map<String, BigDecimal> amountsByAccount) {
+        List<Object[]> args = amountsByAccount.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE account SET balance = balance + ? WHERE account_number = ?", args);
+    }
+
+    // 버킷 계좌 입금: 계좌 행은 건드리지 않고 버킷 행 하나만 갱신 → 같은 계좌 입금끼리 row lock 경합 없음
+    // 버킷 행이 없으면(버킷 해제 직후 등) false → 호출 쪽에서 계좌 행 입금으로 처리
+    public boolean creditBucket(String accountNumber, int bucketNo, BigDecimal amount) {
+        String sql = "UPDATE account_balance_bucket SET balance = balance + ? WHERE account_number = ? AND bucket_no = ?";
+        return jdbcTemplate.update(sql, amount, accountNumber, bucketNo) == 1;
+    }
+
+    // 소유자 확인 없이 계좌 행에 입금 (이체 입금 / 버킷 입금 실패 시)
+    public boolean credit(String accountNumber, BigDecimal amount) {
+        return jdbcTemplate.update("UPDATE account SET balance = balance + ? WHERE account_number = ?",
+                amount, accountNumber) == 1;
+    }
+
+    // 버킷 잔액을 계좌 행으로 모음 (출금 잔액이 모자랄 때만 호출)
+    // 버킷 행을 잠그는 동안만 해당 계좌 입금이 잠깐 대기함
+    public BigDecimal sweepBuckets(String accountNumber) {
+        List<BigDecimal> balances = jdbcTemplate.queryForList(
+                "SELECT balance FROM account_balance_bucket WHERE account_number = ? ORDER BY bucket_no FOR UPDATE",
+                BigDecimal.class, accountNumber);
+        BigDecimal total = balances.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        jdbcTemplate.update("UPDATE account SET balance = balance + ? WHERE account_number = ?", total, accountNumber);
+        jdbcTemplate.update("UPDATE account_balance_bucket SET balance = 0 WHERE account_number = ?", accountNumber);
+        return total;
+    }
+
+    // 0 ~ bucketCount-1 중 없는 버킷 행만 추가
+    public void createBuckets(String accountNumber, int bucketCount) {
+        List<Integer> existing = jdbcTemplate.queryForList(
+                "SELECT bucket_no FROM account_balance_bucket WHERE account_number = ?", Integer.class, accountNumber);
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            if (!existing.contains(i)) {
+                args.add(new Object[]{accountNumber, i});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO account_balance_bucket (account_number, bucket_no, balance) VALUES (?, ?, 0)", args);
+    }
+
+    // bucketNo 이상 버킷 행 삭제 (잔액은 sweepBuckets 로 먼저 옮겨둔 상태)
+    public void deleteBucketsFrom(String accountNumber, int bucketNo) {
+        jdbcTemplate.update("DELETE FROM account_balance_bucket WHERE account_number = ? AND bucket_no >= ?",
+                accountNumber, bucketNo);
+    }
+
+    public void updateBucketCount(String accountNumber, int bucketCount) {
+        jdbcTemplate.update("UPDATE account SET bucket_count = ? WHERE account_number = ?", bucketCount, accountNumber);
+    }
+
+    public int findBucketCount(String accountNumber) {
+        List<Integer> counts = jdbcTemplate.queryForList(
+                "SELECT bucket_count FROM account WHERE account_number = ?", Integer.class, accountNumber);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    public BigDecimal sumBuckets(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM account_balance_bucket WHERE account_number = ?",
+                BigDecimal.class, accountNumber);
+    }
+
+    // 계좌 행 + 버킷 합계 (버킷이 없는 계좌는 빈 인덱스 범위 조회 한 번)
+    public BigDecimal findBalance(String accountNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT a.balance + COALESCE((SELECT SUM(b.balance) FROM account_balance_bucket b " +
+                        "WHERE b.account_number = a.account_number), 0) FROM account a WHERE a.account_number = ?",
+                BigDecimal.class, accountNumber);
+    }
+
+    // 조건부 UPDATE 실패 원인 확인용 (정상 경로에서는 호출 안 함)
+    public Optional<AccountSnapshot> findSnapshot(String accountNumber) {
+        List<AccountSnapshot> rows = jdbcTemplate.query(
+                "SELECT account_number, user_user_id, balance FROM account WHERE account_number = ?",
+                (rs, rowNum) -> new AccountSnapshot(
+                        rs.getString("account_number"),
+                        rs.getString("user_user_id"),
+                        rs.getBigDecimal("balance")),
+                accountNumber);
+        return rows.stream().findFirst();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AccountSnapshot {
+        private final String accountNumber;
+        private final String userId;
+        private final BigDecimal balance;
+    }
+}
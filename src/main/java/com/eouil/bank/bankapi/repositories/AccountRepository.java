@@ -6,14 +6,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, String> {
 
-    // 계좌 번호 존재 여부 확인
-    boolean existsByAccountNumber(String accountNumber);
-
     // 계좌 + 유저 즉시 로딩 (일반 조회용)
     @Query("SELECT a FROM Account a JOIN FETCH a.user WHERE a.accountNumber = :accountNumber")
     Optional<Account> findByAccountNumber(@Param("accountNumber") String accountNumber);
@@ -21,7 +19,18 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     // 특정 유저가 보유한 전체 계좌 조회
     List<Account> findByUser(User user);
 
+    // 유저 엔티티 로딩 없이 userId 로 바로 조회
+    List<Account> findByUser_UserId(String userId);
+
+    // 계좌번호만 조회 (계좌 요약 캐시의 주인 인덱스용)
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.user.userId = :userId")
+    List<String> findAccountNumbersByUserId(@Param("userId") String userId);
+
     // 계좌 락을 걸고 조회 (동시성 제어용)
     @Query(value = "SELECT * FROM account WHERE account_number = :accountNumber FOR UPDATE", nativeQuery = true)
     Account findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // 여러 계좌를 계좌번호 순서로 한 번에 락 (항상 같은 순서로 잠가서 데드락 방지)
+    @Query(value = "SELECT * FROM account WHERE account_number IN (:accountNumbers) ORDER BY account_number FOR UPDATE", nativeQuery = true)
+    List<Account> findAllByAccountNumberInForUpdate(@Param("accountNumbers") Collection<String> accountNumbers);
 }
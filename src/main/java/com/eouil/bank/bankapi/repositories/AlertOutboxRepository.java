@@ -0,0 +1,47 @@
+package com.eouil.bank.bankapi.repositories;
+
+import com.eouil.bank.bankapi.domains.AlertOutbox;
+import com.eouil.bank.bankapi.domains.AlertStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AlertOutboxRepository extends JpaRepository<AlertOutbox, Long> {
+
+    // 재시도 시각이 지난 알림 id
+    @Query("SELECT a.id FROM AlertOutbox a WHERE a.status = :status AND a.nextAttemptAt <= :now ORDER BY a.id")
+    List<Long> findDueIds(@Param("status") AlertStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 임대 시각을 조건부로 갱신 - 1건이면 이 인스턴스가 점유 (다른 인스턴스 스위퍼와 중복 발송 방지)
+    @Transactional
+    @Modifying
+    @Query("UPDATE AlertOutbox a SET a.nextAttemptAt = :leaseUntil " +
+            "WHERE a.id = :id AND a.status = :status AND a.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("status") AlertStatus status,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 발송 결과 기록도 점유했을 때의 임대 시각이 그대로일 때만 (임대가 끝나 다른 인스턴스가 가져간 알림은 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE AlertOutbox a SET a.status = :sent, a.sentAt = :now, a.attempts = a.attempts + 1 " +
+            "WHERE a.id IN :ids AND a.status = :pending AND a.nextAttemptAt = :claimedUntil")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil,
+                 @Param("now") LocalDateTime now,
+                 @Param("pending") AlertStatus pending, @Param("sent") AlertStatus sent);
+
+    // 실패: 재시도 시각(백오프)을 다시 잡거나 FAILED 로
+    @Transactional
+    @Modifying
+    @Query("UPDATE AlertOutbox a SET a.status = :status, a.nextAttemptAt = :nextAttemptAt, a.attempts = a.attempts + 1 " +
+            "WHERE a.id = :id AND a.status = :pending AND a.nextAttemptAt = :claimedUntil")
+    int markAttemptFailed(@Param("id") Long id, @Param("claimedUntil") LocalDateTime claimedUntil,
+                          @Param("pending") AlertStatus pending,
+                          @Param("status") AlertStatus status, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -0,0 +1,35 @@
+package com.eouil.bank.bankapi.repositories;
+
+import com.eouil.bank.bankapi.exceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 거래내역 keyset 커서: 마지막으로 내려준 행의 (created_at, transaction_id)
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+
+    private final LocalDateTime createdAt;
+    private final long transactionId;
+
+    public String encode() {
+        String raw = createdAt + "|" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -1,32 +1,155 @@
 package com.eouil.bank.bankapi.repositories;
 
+import com.eouil.bank.bankapi.domains.LedgerEntry;
 import com.eouil.bank.bankapi.domains.Transaction;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class TransactionJdbcRepository {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction (from_account_number, to_account_number, type, amount, memo, status, balance_after, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 같은 트랜잭션에서 outbox 에도 기록 → LedgerOutboxRelay 가 외부로 발행
+    private static final String OUTBOX_INSERT_SQL =
+            "INSERT INTO ledger_outbox (transaction_id, from_account_number, to_account_number, type, amount, memo, status, balance_after, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 그룹 커밋 트랜잭션에 묶어두는 지연 INSERT 목록의 리소스 키
+    private static final String DEFERRED_KEY = TransactionJdbcRepository.class.getName() + ".deferred";
+
     private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public void save(Transaction tx) {
-        String sql = "INSERT INTO transaction (from_account_number, to_account_number, type, amount, memo, status, balance_after, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
-                tx.getFromAccount() != null ? tx.getFromAccount().getAccountNumber() : null,
-                tx.getToAccount() != null ? tx.getToAccount().getAccountNumber() : null,
-                tx.getType().name(),
-                tx.getAmount(),
-                tx.getMemo(),
-                tx.getStatus().name(),
-                tx.getBalanceAfter(),
-                LocalDateTime.now()
-        );
+        save(LedgerEntry.builder()
+                .fromAccountNumber(tx.getFromAccount() != null ? tx.getFromAccount().getAccountNumber() : null)
+                .toAccountNumber(tx.getToAccount() != null ? tx.getToAccount().getAccountNumber() : null)
+                .type(tx.getType())
+                .amount(tx.getAmount())
+                .memo(tx.getMemo())
+                .status(tx.getStatus())
+                .balanceAfter(tx.getBalanceAfter())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // 원장 INSERT 후 생성된 transaction_id를 entry에 채우고 outbox 기록
+    // 그룹 커밋 중이면 바로 INSERT 하지 않고 모아뒀다가 flushDeferred 에서 batch 로 기록
+    @Transactional
+    public void save(LedgerEntry entry) {
+        @SuppressWarnings("unchecked")
+        List<LedgerEntry> deferred = (List<LedgerEntry>) TransactionSynchronizationManager.getResource(DEFERRED_KEY);
+        if (deferred != null) {
+            deferred.add(entry);
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[]{"transaction_id"});
+            new ArgumentPreparedStatementSetter(toArgs(entry)).setValues(ps);
+            return ps;
+        }, keyHolder);
+
+        Number key = keyHolder.getKey();
+        entry.setTransactionId(key != null ? key.longValue() : null);
+
+        jdbcTemplate.update(OUTBOX_INSERT_SQL, toOutboxArgs(entry));
+    }
+
+    // 여러 건을 batch INSERT 하고 생성된 키를 순서대로 채움 (outbox 도 batch 로 기록)
+    @Transactional
+    public void saveAll(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"transaction_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(toArgs(entries.get(i))).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                },
+                keyHolder);
+
+        // 드라이버마다 키 컬럼 이름이 달라서 (GENERATED_KEY / TRANSACTION_ID) 첫 번째 값 사용
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < entries.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            entries.get(i).setTransactionId(((Number) key).longValue());
+        }
+
+        jdbcTemplate.batchUpdate(OUTBOX_INSERT_SQL, entries.stream().map(this::toOutboxArgs).toList());
+    }
+
+    // 현재 트랜잭션의 원장 INSERT 를 모으기 시작 (반환된 목록은 세이브포인트 롤백 시 호출 쪽에서 잘라냄)
+    public List<LedgerEntry> deferInserts() {
+        List<LedgerEntry> deferred = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(DEFERRED_KEY, deferred);
+        return deferred;
+    }
+
+    // 모아둔 원장을 한 번에 INSERT (커밋 직전에 호출 → transaction_id 는 여기서 채워짐)
+    public void flushDeferred() {
+        @SuppressWarnings("unchecked")
+        List<LedgerEntry> deferred = (List<LedgerEntry>) TransactionSynchronizationManager.unbindResource(DEFERRED_KEY);
+        saveAll(deferred);
+    }
+
+    public void stopDeferring() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(DEFERRED_KEY);
+    }
+
+    private Object[] toArgs(LedgerEntry entry) {
+        return new Object[]{
+                entry.getFromAccountNumber(),
+                entry.getToAccountNumber(),
+                entry.getType().name(),
+                entry.getAmount(),
+                entry.getMemo(),
+                entry.getStatus().name(),
+                entry.getBalanceAfter(),
+                entry.getCreatedAt()
+        };
+    }
+
+    private Object[] toOutboxArgs(LedgerEntry entry) {
+        return new Object[]{
+                entry.getTransactionId(),
+                entry.getFromAccountNumber(),
+                entry.getToAccountNumber(),
+                entry.getType().name(),
+                entry.getAmount(),
+                entry.getMemo(),
+                entry.getStatus().name(),
+                entry.getBalanceAfter(),
+                entry.getCreatedAt()
+        };
     }
 }
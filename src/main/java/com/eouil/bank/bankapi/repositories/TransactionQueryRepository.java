@@ -0,0 +1,141 @@
+package com.eouil.bank.bankapi.repositories;
+
+import com.eouil.bank.bankapi.dtos.requests.TransactionHistorySearchRequest;
+import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 거래내역 조회 전용 JDBC 경로
+// 사용자의 모든 계좌를 한 쿼리로 조회하고, (created_at, transaction_id) 기준 keyset 페이지네이션
+// 인덱스: Transaction 엔티티의 idx_transaction_from_created / idx_transaction_to_created
+@Repository
+public class TransactionQueryRepository {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT t.transaction_id, t.from_account_number, t.to_account_number, t.type, t.amount, " +
+            "t.memo, t.status, t.balance_after, t.created_at FROM transaction t ";
+
+    private static final String USER_ACCOUNTS = "(SELECT account_number FROM account WHERE user_user_id = ?)";
+
+    private static final RowMapper<TransactionResponseDTO> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return TransactionResponseDTO.builder()
+                .transactionID(rs.getLong("transaction_id"))
+                .fromAccountNumber(rs.getString("from_account_number"))
+                .toAccountNumber(rs.getString("to_account_number"))
+                .type(rs.getString("type"))
+                .amount(rs.getBigDecimal("amount"))
+                .memo(rs.getString("memo"))
+                .status(rs.getString("status"))
+                .balanceAfter(rs.getBigDecimal("balance_after"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int streamFetchSize;
+
+    public TransactionQueryRepository(JdbcTemplate jdbcTemplate,
+                                      @Value("${custom.transaction.history.stream-fetch-size:500}") int streamFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    // 사용자 전체 거래내역 (최신순, 한 쿼리)
+    public List<TransactionResponseDTO> findAll(String userId) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildHistorySql(userId, new TransactionHistorySearchRequest(), null, null, args);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    // limit 건 조회 (다음 페이지 존재 여부 확인은 호출 쪽에서 limit + 1 로 요청)
+    public List<TransactionResponseDTO> findPage(String userId, TransactionHistorySearchRequest search,
+                                                 TransactionCursor cursor, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildHistorySql(userId, search, cursor, limit, args);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    // DB 커서에서 읽는 대로 consumer 에 넘김 (전체 결과를 메모리에 올리지 않음)
+    public void stream(String userId, TransactionHistorySearchRequest search, Consumer<TransactionResponseDTO> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildHistorySql(userId, search, null, null, args);
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL 은 Integer.MIN_VALUE 면 행 단위 스트리밍, 양수면 useCursorFetch=true 일 때 서버 커서
+            ps.setFetchSize(streamFetchSize);
+            new ArgumentPreparedStatementSetter(args.toArray()).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    // 출금 쪽 / 입금 쪽을 각각 (계좌, created_at, transaction_id) 인덱스로 읽고 UNION ALL 후 다시 정렬
+    // 각 쪽에서 limit 건만 읽으면 합친 결과의 상위 limit 건이 보장됨
+    private String buildHistorySql(String userId, TransactionHistorySearchRequest search,
+                                   TransactionCursor cursor, Integer limit, List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ((")
+                .append(SELECT_COLUMNS)
+                .append("WHERE t.from_account_number IN ").append(USER_ACCOUNTS).append(" ");
+        args.add(userId);
+        appendFilters(sql, search, cursor, args);
+        appendOrderAndLimit(sql, "t.", limit, args);
+
+        sql.append(") UNION ALL (")
+                .append(SELECT_COLUMNS)
+                .append("WHERE t.to_account_number IN ").append(USER_ACCOUNTS).append(" ")
+                // 본인 계좌끼리 이체한 행은 출금 쪽에서 이미 나왔으므로 제외
+                .append("AND (t.from_account_number IS NULL OR t.from_account_number NOT IN ").append(USER_ACCOUNTS).append(") ");
+        args.add(userId);
+        args.add(userId);
+        appendFilters(sql, search, cursor, args);
+        appendOrderAndLimit(sql, "t.", limit, args);
+
+        sql.append(")) h ");
+        appendOrderAndLimit(sql, "h.", limit, args);
+        return sql.toString();
+    }
+
+    private void appendOrderAndLimit(StringBuilder sql, String alias, Integer limit, List<Object> args) {
+        sql.append("ORDER BY ").append(alias).append("created_at DESC, ")
+                .append(alias).append("transaction_id DESC ");
+        if (limit != null) {
+            sql.append("LIMIT ? ");
+            args.add(limit);
+        }
+    }
+
+    private void appendFilters(StringBuilder sql, TransactionHistorySearchRequest search,
+                               TransactionCursor cursor, List<Object> args) {
+        if (search.getFrom() != null) {
+            sql.append("AND t.created_at >= ? ");
+            args.add(search.getFrom().atStartOfDay());
+        }
+        if (search.getTo() != null) {
+            sql.append("AND t.created_at < ? ");
+            args.add(search.getTo().plusDays(1).atStartOfDay());
+        }
+        if (search.getType() != null) {
+            sql.append("AND t.type = ? ");
+            args.add(search.getType().name());
+        }
+        if (cursor != null) {
+            // (created_at, transaction_id) < (?, ?) 를 인덱스 범위 조건으로 풀어서 작성
+            sql.append("AND (t.created_at < ? OR (t.created_at = ? AND t.transaction_id < ?)) ");
+            args.add(cursor.getCreatedAt());
+            args.add(cursor.getCreatedAt());
+            args.add(cursor.getTransactionId());
+        }
+    }
+}
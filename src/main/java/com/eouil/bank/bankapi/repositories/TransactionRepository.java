@@ -2,17 +2,9 @@ package com.eouil.bank.bankapi.repositories;
 
 import com.eouil.bank.bankapi.domains.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+// 거래내역 조회는 TransactionQueryRepository (DTO 프로젝션) 사용
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-
-    @Query("SELECT t FROM Transaction t " +
-            "WHERE t.fromAccount.accountNumber = :accountNumber " +
-            "OR t.toAccount.accountNumber = :accountNumber")
-    List<Transaction> findByAccountNumber(@Param("accountNumber") String accountNumber);
 }
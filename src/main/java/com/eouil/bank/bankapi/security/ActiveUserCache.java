@@ -0,0 +1,104 @@
+package com.eouil.bank.bankapi.security;
+
+import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+// 토큰의 userId 가 아직 유효한 사용자인지 확인하는 로컬 캐시
+// 요청마다 users 테이블을 조회하지 않고 TTL 동안은 캐시로 판단
+// 사용자 삭제는 커밋 후 무효화하고 Redis 로 다른 인스턴스에도 알림 (ActiveUserCacheListener, 발행 실패 시 TTL 까지 통과)
+@Slf4j
+@Component
+public class ActiveUserCache {
+    // 사용자 변경 이벤트 채널 (다른 인스턴스 로컬 캐시 무효화용)
+    private static final String CHANGE_CHANNEL = "AUTH:USER:EVENTS";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean broadcastEnabled;
+    private final ExpiringCache<String, Boolean> activeUsers;
+    private final long ttlMillis;
+
+    public ActiveUserCache(UserRepository userRepository,
+                           RedisTemplate<String, String> redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${custom.auth.active-user-cache.broadcast-enabled:true}") boolean broadcastEnabled,
+                           @Value("${custom.auth.active-user-cache.max-size:10000}") int maxSize,
+                           @Value("${custom.auth.active-user-cache.ttl-ms:60000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.broadcastEnabled = broadcastEnabled;
+        this.activeUsers = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    @PostConstruct
+    void subscribeChangeEvents() {
+        if (!broadcastEnabled) {
+            return;
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    public boolean isActive(String userId) {
+        if (activeUsers.get(userId) != null) {
+            return true;
+        }
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            activeUsers.put(userId, Boolean.TRUE, System.currentTimeMillis() + ttlMillis);
+        }
+        return exists;
+    }
+
+    // 사용자 삭제 / 잠금 시 호출 → 다음 요청부터 DB 에서 다시 확인
+    public void invalidate(String userId) {
+        activeUsers.remove(userId);
+        log.info("[ACTIVE USER CACHE] 무효화 - userId: {}", userId);
+    }
+
+    public void invalidateAll() {
+        activeUsers.clear();
+    }
+
+    // 삭제 트랜잭션이 커밋된 뒤 무효화 + 다른 인스턴스에 알림
+    // 커밋 전에 지우면 그 사이 다른 요청이 아직 남아 있는 행을 다시 읽어 TTL 동안 캐시할 수 있음
+    public void invalidateAfterCommit(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateEverywhere(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateEverywhere(userId);
+            }
+        });
+    }
+
+    private void invalidateEverywhere(String userId) {
+        invalidate(userId);
+        if (!broadcastEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, userId);
+        } catch (Exception e) {
+            log.warn("[ACTIVE USER CACHE] 변경 이벤트 발행 실패 - 다른 인스턴스는 캐시 만료까지 이전 값 사용: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.eouil.bank.bankapi.security;
+
+import com.eouil.bank.bankapi.domains.User;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+// User 엔티티 삭제 시 ActiveUserCache 무효화 (삭제 경로가 어디든 엔티티로 지우면 적용)
+// Hibernate 가 Spring 빈 컨테이너로 생성 - 캐시 빈이 없는 컨텍스트(@DataJpaTest 등)에서는 아무것도 안 함
+public class ActiveUserCacheListener {
+
+    private final ObjectProvider<ActiveUserCache> activeUserCache;
+
+    public ActiveUserCacheListener(ObjectProvider<ActiveUserCache> activeUserCache) {
+        this.activeUserCache = activeUserCache;
+    }
+
+    @PostRemove
+    void onRemove(User user) {
+        activeUserCache.ifAvailable(cache -> cache.invalidateAfterCommit(user.getUserId()));
+    }
+}
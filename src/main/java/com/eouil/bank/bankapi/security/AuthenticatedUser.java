@@ -0,0 +1,22 @@
+package com.eouil.bank.bankapi.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 검증된 access token claims 로 만든 인증 주체 (SecurityContext principal)
+// 서비스는 UserRepository 를 다시 조회하지 않고 이 값을 사용
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+
+    public static final String EMAIL_CLAIM = "email";
+
+    private final String userId;
+    // 이메일 claim 추가 전에 발급된 토큰이면 null
+    private final String email;
+
+    public static AuthenticatedUser from(Claims claims) {
+        return new AuthenticatedUser(claims.getSubject(), claims.get(EMAIL_CLAIM, String.class));
+    }
+}
@@ -0,0 +1,147 @@
+package com.eouil.bank.bankapi.security;
+
+import com.eouil.bank.bankapi.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt 해시를 전용 스레드 풀에서만 계산
+// 로그인 폭주가 와도 CPU 를 threads 개까지만 쓰고, 대기열이 차면 기다리지 않고 바로 거절 (429)
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_INPUT = "calibration-password";
+
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(MeterRegistry registry, int cost, int threads, int queueCapacity, long waitTimeoutMillis) {
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        AtomicInteger seq = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password_hash_duration")
+                .description("비밀번호 해시 계산 시간 (대기 제외)")
+                .tag("operation", "encode")
+                .register(registry);
+        this.matchTimer = Timer.builder("password_hash_duration")
+                .description("비밀번호 해시 계산 시간 (대기 제외)")
+                .tag("operation", "matches")
+                .register(registry);
+        this.rejectedCounter = Counter.builder("password_hash_rejected_total")
+                .description("해시 풀 포화로 거절한 요청 수")
+                .register(registry);
+        Gauge.builder("password_hash_queue_size", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("password_hash_active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    // 이 장비에서 해시 한 번이 targetMillis 정도 걸리는 cost 계산
+    // cost 가 1 오르면 시간이 두 배이므로 minCost 에서 한 번 재고 나머지는 계산으로
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode(CALIBRATION_INPUT); // JIT 워밍업
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_INPUT);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        double measuredMillis = Math.max(0.01, bestNanos / 1_000_000.0);
+        int extra = (int) Math.floor(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        int cost = Math.min(maxCost, minCost + Math.max(0, extra));
+        log.info("[PASSWORD] BCrypt cost 보정 - cost {} 에서 {}ms → cost {} (목표 {}ms)",
+                minCost, String.format("%.1f", measuredMillis), cost, targetMillis);
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // 저장된 해시의 cost 가 현재 cost 보다 낮을 때만 로그인 성공 시 다시 해시
+    // 더 높은 해시는 그대로 둠 (느린 장비 / 설정 변경으로 cost 가 내려가도 약하게 재해시하지 않도록)
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejectedCounter.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.eouil.bank.bankapi.security;
+
+import com.eouil.bank.bankapi.concurrency.CircuitBreaker;
+import com.eouil.bank.bankapi.exceptions.TooManyLoginAttemptsException;
+import com.eouil.bank.bankapi.metrics.SecurityMetrics;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 로그인 / MFA 인증 실패 제한 (이메일 단위 + 클라이언트 IP 단위)
+// 슬라이딩 윈도우 카운터: 직전 윈도우 실패 수를 경과 비율만큼 줄여서 현재 윈도우 실패 수에 더함
+// 로컬 카운터로 먼저 판단하고 Redis 카운터로 클러스터 전체 실패 수를 합산, 한도를 넘으면 lockout-ms 동안 잠금
+// Redis 장애 시에는 로컬 카운터만으로 동작
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String MFA = "mfa";
+
+    private static final String COUNTER_PREFIX = "LA:";
+    private static final String LOCK_PREFIX = "LL:";
+
+    private final ReactiveStringRedisTemplate reactiveRedis;
+    private final SecurityMetrics securityMetrics;
+    private final CircuitBreaker breaker;
+    private final Duration commandTimeout;
+
+    private final long windowMillis;
+    private final int emailMaxFailures;
+    private final int ipMaxFailures;
+    private final long lockoutMillis;
+
+    private final ExpiringCache<String, Window> localWindows;
+    // key → 잠금 해제 시각
+    private final ExpiringCache<String, Long> localLocks;
+
+    public LoginAttemptLimiter(ReactiveStringRedisTemplate reactiveRedis,
+                               SecurityMetrics securityMetrics,
+                               @Value("${custom.auth.login-limit.window-ms:300000}") long windowMillis,
+                               @Value("${custom.auth.login-limit.email-max-failures:5}") int emailMaxFailures,
+                               @Value("${custom.auth.login-limit.ip-max-failures:50}") int ipMaxFailures,
+                               @Value("${custom.auth.login-limit.lockout-ms:900000}") long lockoutMillis,
+                               @Value("${custom.auth.login-limit.local-max-size:100000}") int localMaxSize,
+                               @Value("${custom.auth.redis.command-timeout-ms:500}") long commandTimeoutMillis,
+                               @Value("${custom.auth.redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${custom.auth.redis.circuit-breaker.open-ms:10000}") long openMillis) {
+        this.reactiveRedis = reactiveRedis;
+        this.securityMetrics = securityMetrics;
+        this.windowMillis = windowMillis;
+        this.emailMaxFailures = emailMaxFailures;
+        this.ipMaxFailures = ipMaxFailures;
+        this.lockoutMillis = lockoutMillis;
+        this.localWindows = new ExpiringCache<>(localMaxSize);
+        this.localLocks = new ExpiringCache<>(localMaxSize);
+        this.breaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.commandTimeout = Duration.ofMillis(commandTimeoutMillis);
+    }
+
+    // 사용자 조회 / 비밀번호 확인 전에 호출 - 잠긴 키가 있으면 TooManyLoginAttemptsException
+    public void check(String scope, String email, String clientIp) {
+        List<String> keys = keys(scope, email, clientIp);
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            Long lockedUntil = localLocks.get(key);
+            if (lockedUntil != null && lockedUntil > now) {
+                throttled(lockedUntil - now);
+            }
+        }
+
+        List<Mono<String>> reads = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            reads.add(reactiveRedis.opsForValue().get(LOCK_PREFIX + key).defaultIfEmpty(""));
+        }
+        List<String> values = await(Mono.zip(reads, results -> {
+            List<String> list = new ArrayList<>(results.length);
+            for (Object result : results) {
+                list.add((String) result);
+            }
+            return list;
+        }));
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            long lockedUntil = parseLong(values.get(i));
+            if (lockedUntil > now) {
+                // 다른 인스턴스가 건 잠금 - 다음 요청은 Redis 까지 가지 않도록 로컬에도 기록
+                localLocks.put(keys.get(i), lockedUntil, lockedUntil);
+                throttled(lockedUntil - now);
+            }
+        }
+    }
+
+    public void onFailure(String scope, String email, String clientIp) {
+        if (LOGIN.equals(scope)) {
+            securityMetrics.incrementLoginFailure();
+        } else {
+            securityMetrics.incrementMfaFailure();
+        }
+
+        long now = System.currentTimeMillis();
+        long index = now / windowMillis;
+        double elapsed = (double) (now % windowMillis) / windowMillis;
+        List<String> keys = keys(scope, email, clientIp);
+
+        // 키별 INCR / EXPIRE / 직전 윈도우 GET 을 한꺼번에 보내서 왕복 한 번
+        List<Mono<long[]>> commands = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String current = COUNTER_PREFIX + key + ":" + index;
+            String previous = COUNTER_PREFIX + key + ":" + (index - 1);
+            commands.add(Mono.zip(
+                    reactiveRedis.opsForValue().increment(current),
+                    reactiveRedis.expire(current, Duration.ofMillis(windowMillis * 2)),
+                    reactiveRedis.opsForValue().get(previous).defaultIfEmpty("0"))
+                    .map(t -> new long[]{t.getT1(), parseLong(t.getT3())}));
+        }
+        List<long[]> remote = await(Mono.zip(commands, results -> {
+            List<long[]> list = new ArrayList<>(results.length);
+            for (Object result : results) {
+                list.add((long[]) result);
+            }
+            return list;
+        }));
+
+        List<Mono<Boolean>> locks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            double estimate = localWindow(key, now).increment(index, elapsed);
+            if (remote != null) {
+                long[] counts = remote.get(i);
+                estimate = Math.max(estimate, counts[1] * (1 - elapsed) + counts[0]);
+            }
+            if (estimate >= maxFailures(key)) {
+                long lockedUntil = now + lockoutMillis;
+                localLocks.put(key, lockedUntil, lockedUntil);
+                locks.add(reactiveRedis.opsForValue().set(LOCK_PREFIX + key, String.valueOf(lockedUntil), Duration.ofMillis(lockoutMillis)));
+                securityMetrics.incrementLoginLockout();
+                log.warn("[LOGIN-LIMIT] 잠금 - key: {}, 실패 추정치: {}", mask(key), String.format("%.1f", estimate));
+            }
+        }
+        if (!locks.isEmpty()) {
+            await(Mono.when(locks));
+        }
+    }
+
+    // 인증 성공 - 이메일 카운터만 초기화 (IP 카운터는 다른 계정 대입 시도를 계속 셈)
+    public void onSuccess(String scope, String email) {
+        if (email == null) {
+            return;
+        }
+        String key = scope + ":email:" + normalize(email);
+        localWindows.remove(key);
+        long index = System.currentTimeMillis() / windowMillis;
+        await(reactiveRedis.delete(COUNTER_PREFIX + key + ":" + index, COUNTER_PREFIX + key + ":" + (index - 1)));
+    }
+
+    private List<String> keys(String scope, String email, String clientIp) {
+        List<String> keys = new ArrayList<>(2);
+        if (email != null && !email.isBlank()) {
+            keys.add(scope + ":email:" + normalize(email));
+        }
+        if (clientIp != null && !clientIp.isBlank()) {
+            keys.add(scope + ":ip:" + clientIp);
+        }
+        return keys;
+    }
+
+    private int maxFailures(String key) {
+        return key.contains(":ip:") ? ipMaxFailures : emailMaxFailures;
+    }
+
+    private Window localWindow(String key, long now) {
+        Window window = localWindows.get(key);
+        if (window == null) {
+            window = new Window();
+        }
+        // 실패가 이어지는 동안은 만료 시각을 계속 늘림
+        localWindows.put(key, window, now + windowMillis * 2);
+        return window;
+    }
+
+    private void throttled(long retryAfterMillis) {
+        securityMetrics.incrementLoginThrottled();
+        throw new TooManyLoginAttemptsException(Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+
+    // Redis 명령 - 서킷이 열려 있거나 실패하면 null (로컬 카운터만 사용)
+    private <T> T await(Mono<T> command) {
+        if (!breaker.tryAcquire()) {
+            return null;
+        }
+        try {
+            T result = command.timeout(commandTimeout).block();
+            breaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            log.warn("[LOGIN-LIMIT] Redis 실패 → 로컬 카운터로 처리 (circuit: {}): {}", breaker.state(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long parseLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // 로그에 이메일 원문을 남기지 않음
+    private static String mask(String key) {
+        int at = key.indexOf('@');
+        if (at < 0) {
+            return key;
+        }
+        int start = key.indexOf(":email:") + ":email:".length();
+        return key.substring(0, Math.min(at, start + 2)) + "***";
+    }
+
+    // 로컬 슬라이딩 윈도우 카운터
+    private static final class Window {
+        private long index = -1;
+        private int current;
+        private int previous;
+
+        synchronized double increment(long nowIndex, double elapsed) {
+            if (nowIndex != index) {
+                previous = nowIndex == index + 1 ? current : 0;
+                current = 0;
+                index = nowIndex;
+            }
+            current++;
+            return previous * (1 - elapsed) + current;
+        }
+    }
+}
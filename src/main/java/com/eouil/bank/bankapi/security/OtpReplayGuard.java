@@ -0,0 +1,53 @@
+package com.eouil.bank.bankapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+// 한 번 통과한 TOTP 코드를 같은 time step 안에서 다시 받지 않기 위한 기록
+// step 별 버킷을 링으로 돌려쓰고, 버킷에는 사용자 식별자의 64비트 해시만 저장 (오래된 step 은 버킷 재사용 시 통째로 버림)
+public class OtpReplayGuard {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Bucket[] buckets;
+
+    // retainedSteps: 검증 허용 범위(앞뒤 window) 보다 넉넉하게
+    public OtpReplayGuard(int retainedSteps) {
+        this.buckets = new Bucket[Math.max(2, retainedSteps)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    // 처음 쓰는 (subject, step) 이면 true, 이미 썼거나 보관 범위를 벗어난 step 이면 false
+    public boolean markUsed(String subject, long step) {
+        return buckets[(int) Math.floorMod(step, (long) buckets.length)].add(step, fingerprint(subject));
+    }
+
+    private static long fingerprint(String subject) {
+        long hash = FNV_OFFSET;
+        for (byte b : subject.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static final class Bucket {
+        private long step = Long.MIN_VALUE;
+        private Set<Long> used = new HashSet<>();
+
+        synchronized boolean add(long requestedStep, long fingerprint) {
+            if (requestedStep != step) {
+                if (requestedStep < step) {
+                    return false;
+                }
+                step = requestedStep;
+                used = new HashSet<>();
+            }
+            return used.add(fingerprint);
+        }
+    }
+}
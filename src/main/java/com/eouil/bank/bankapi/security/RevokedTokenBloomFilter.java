@@ -0,0 +1,119 @@
+package com.eouil.bank.bankapi.security;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// 로그아웃(블랙리스트)된 토큰 해시의 로컬 블룸 필터
+// "확실히 없음"이면 Redis 조회를 건너뛰고, "있을 수도 있음"일 때만 Redis 확인
+// access token 수명 단위로 세대를 교체해서 만료된 토큰 해시는 자연스럽게 빠짐 (현재 + 이전 세대만 조회)
+public class RevokedTokenBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long rotationMillis;
+    private final LongSupplier clock;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public RevokedTokenBloomFilter(int bitCount, int hashCount, long rotationMillis) {
+        this(bitCount, hashCount, rotationMillis, System::currentTimeMillis);
+    }
+
+    // clock: 세대 교체 시각 계산용 (테스트에서 시간 제어)
+    public RevokedTokenBloomFilter(int bitCount, int hashCount, long rotationMillis, LongSupplier clock) {
+        // 2의 거듭제곱으로 올림 (비트 인덱스를 마스크로 계산)
+        this.bitCount = bitCount <= 64 ? 64 : Integer.highestOneBit(bitCount - 1) << 1;
+        this.hashCount = Math.max(1, hashCount);
+        this.rotationMillis = rotationMillis;
+        this.clock = clock;
+        this.current = new Generation(this.bitCount, clock.getAsLong());
+        this.previous = new Generation(this.bitCount, 0);
+    }
+
+    // tokenHash: JwtUtil.tokenHash (SHA-256 앞 16바이트, base64url)
+    public void add(String tokenHash) {
+        if (tokenHash == null || tokenHash.isEmpty()) {
+            return;
+        }
+        rotateIfNeeded();
+        long[] h = split(tokenHash);
+        Generation generation = current;
+        for (int i = 0; i < hashCount; i++) {
+            generation.set(index(h, i));
+        }
+    }
+
+    public boolean mightContain(String tokenHash) {
+        if (tokenHash == null || tokenHash.isEmpty()) {
+            return false;
+        }
+        rotateIfNeeded();
+        long[] h = split(tokenHash);
+        return contains(current, h) || contains(previous, h);
+    }
+
+    private boolean contains(Generation generation, long[] h) {
+        for (int i = 0; i < hashCount; i++) {
+            if (!generation.get(index(h, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfNeeded() {
+        long now = clock.getAsLong();
+        if (now - current.createdAt < rotationMillis || !rotationLock.tryLock()) {
+            return;
+        }
+        try {
+            if (now - current.createdAt >= rotationMillis) {
+                previous = current;
+                current = new Generation(bitCount, now);
+            }
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    // 해시가 이미 SHA-256 기반이라 그대로 두 개의 64비트 값으로 나눠 double hashing
+    private long[] split(String tokenHash) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(tokenHash));
+        return new long[]{buffer.getLong(), buffer.getLong()};
+    }
+
+    private int index(long[] h, int i) {
+        return (int) ((h[0] + i * h[1]) & (bitCount - 1));
+    }
+
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final long createdAt;
+
+        private Generation(int bitCount, long createdAt) {
+            this.words = new AtomicLongArray(bitCount >>> 6);
+            this.createdAt = createdAt;
+        }
+
+        private void set(int bit) {
+            long mask = 1L << (bit & 63);
+            int word = bit >>> 6;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, old, old | mask));
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.eouil.bank.bankapi.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 계좌번호 발급
+// account_number_block 에서 일련번호 블록을 예약해 두고 메모리에서 나눠 주므로 존재 여부 조회 / 중복 재시도가 없음
+// 형식: "0" + 일련번호 12자리 + Luhn 검증 숫자 (14자리)
+// 기존 난수 계좌번호(10000000000000 ~ 99999999999999)는 0 으로 시작하지 않으므로 겹치지 않음
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+    private static final String SEQUENCE_NAME = "account";
+    private static final String PREFIX = "0";
+    private static final int SERIAL_DIGITS = 12;
+    private static final long MAX_SERIAL = 1_000_000_000_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    // 호출 쪽 트랜잭션과 분리 - 계좌 생성이 롤백돼도 예약한 블록은 돌려놓지 않음 (번호가 비는 것만 감수)
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+
+    // DB 예약 구간을 락 안에서 가져오므로 synchronized 대신 ReentrantLock (가상 스레드 pinning 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${custom.account.number.block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public String next() {
+        return allocate(1).get(0);
+    }
+
+    // 일괄 개설용 - 남은 블록이 모자라면 부족한 만큼 한 번에 예약
+    public List<String> allocate(int count) {
+        List<String> numbers = new ArrayList<>(count);
+        lock.lock();
+        try {
+            while (numbers.size() < count) {
+                if (next >= limit) {
+                    reserve(Math.max(blockSize, count - numbers.size()));
+                }
+                numbers.add(format(next++));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return numbers;
+    }
+
+    // 행 UPDATE 로 row lock 을 잡은 뒤 같은 트랜잭션에서 읽으므로 인스턴스끼리 같은 구간을 받지 않음
+    private void reserve(int size) {
+        long end = requiresNew.execute(status -> {
+            if (jdbcTemplate.update("UPDATE account_number_block SET next_value = next_value + ?, updated_at = ? WHERE name = ?",
+                    size, LocalDateTime.now(), SEQUENCE_NAME) == 0) {
+                insertSequence(size);
+            }
+            return jdbcTemplate.queryForObject("SELECT next_value FROM account_number_block WHERE name = ?",
+                    Long.class, SEQUENCE_NAME);
+        });
+        if (end > MAX_SERIAL) {
+            throw new IllegalStateException("계좌번호 일련번호 소진");
+        }
+        next = end - size;
+        limit = end;
+        log.info("[ACCOUNT NUMBER] 블록 예약 - [{}, {})", next, limit);
+    }
+
+    private void insertSequence(int size) {
+        try {
+            jdbcTemplate.update("INSERT INTO account_number_block (name, next_value, updated_at) VALUES (?, ?, ?)",
+                    SEQUENCE_NAME, size, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 먼저 만든 경우 - 그 행에서 예약
+            jdbcTemplate.update("UPDATE account_number_block SET next_value = next_value + ?, updated_at = ? WHERE name = ?",
+                    size, LocalDateTime.now(), SEQUENCE_NAME);
+        }
+    }
+
+    private static String format(long serial) {
+        String body = PREFIX + String.format("%0" + SERIAL_DIGITS + "d", serial);
+        return body + luhnCheckDigit(body);
+    }
+
+    // 오타 한 자리 / 인접 숫자 자리바꿈을 잡기 위한 검증 숫자
+    private static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubled) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
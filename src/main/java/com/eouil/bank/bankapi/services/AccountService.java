@@ -1,15 +1,18 @@
 package com.eouil.bank.bankapi.services;
 
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
 import com.eouil.bank.bankapi.domains.Account;
 import com.eouil.bank.bankapi.domains.User;
 import com.eouil.bank.bankapi.dtos.requests.CreateAccountRequest;
 import com.eouil.bank.bankapi.dtos.responses.CreateAccountResponse;
 import com.eouil.bank.bankapi.dtos.responses.GetMyAccountResponse;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
 import com.eouil.bank.bankapi.repositories.AccountRepository;
 import com.eouil.bank.bankapi.repositories.UserRepository;
-import com.eouil.bank.bankapi.utils.JwtUtil;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,31 +23,29 @@ import java.util.List;
 public class AccountService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
-
-    public AccountService(AccountRepository accountRepository, UserRepository userRepository, JwtUtil jwtUtil) {
+    private final AccountJdbcRepository accountJdbcRepository;
+    private final HotAccountRegistry hotAccountRegistry;
+    private final AccountSummaryCache accountSummaryCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    public AccountService(AccountRepository accountRepository, UserRepository userRepository,
+                          AccountJdbcRepository accountJdbcRepository, HotAccountRegistry hotAccountRegistry,
+                          AccountSummaryCache accountSummaryCache, AccountNumberAllocator accountNumberAllocator) {
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.accountJdbcRepository = accountJdbcRepository;
+        this.hotAccountRegistry = hotAccountRegistry;
+        this.accountSummaryCache = accountSummaryCache;
+        this.accountNumberAllocator = accountNumberAllocator;
     }
 
-    public List<GetMyAccountResponse> getMyaccount(String token) {
-        String userId = jwtUtil.validateTokenAndGetUserId(token);
+    public List<GetMyAccountResponse> getMyaccount(AuthenticatedUser authenticatedUser) {
+        String userId = authenticatedUser.getUserId();
         log.info("[GET MY ACCOUNT] 요청 - userId: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.warn("[GET MY ACCOUNT] 사용자 없음 - userId: {}", userId);
-                    return new RuntimeException("User not found");
-                });
-
-        List<GetMyAccountResponse> accounts = user.getAccounts().stream()
-                .map(account -> new GetMyAccountResponse(
-                        account.getAccountNumber(),
-                        account.getBalance(),
-                        account.getCreatedAt()
-                ))
-                .toList();
+        // 필터에서 이미 사용자 확인 → 캐시에 없을 때만 계좌 조회
+        List<GetMyAccountResponse> accounts = accountSummaryCache.get(userId,
+                () -> accountRepository.findAccountNumbersByUserId(userId), () -> loadMyAccounts(userId));
 
         log.info("[GET MY ACCOUNT] 조회 완료 - 계좌 수: {}", accounts.size());
         return accounts;
@@ -53,13 +54,11 @@ public class AccountService {
     public CreateAccountResponse createAccount(CreateAccountRequest request, String userId) {
         log.info("[CREATE ACCOUNT] 요청 - userId: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.warn("[CREATE ACCOUNT] 사용자 없음 - userId: {}", userId);
-                    return new RuntimeException("User not found");
-                });
+        // 인증 단계에서 확인된 userId → SELECT 없이 참조만 사용
+        User user = userRepository.getReferenceById(userId);
 
-        String accountNumber = generateUniqueAccountNumber();
+        // 미리 예약한 블록에서 발급 → 중복 확인 조회 없음, 새 엔티티라 save 시 SELECT 없이 INSERT
+        String accountNumber = accountNumberAllocator.next();
 
         Account account = new Account();
         account.setAccountNumber(accountNumber);
@@ -68,6 +67,7 @@ public class AccountService {
         account.setCreatedAt(LocalDateTime.now());
 
         accountRepository.save(account);
+        accountSummaryCache.evictUser(userId);
 
         log.info("[CREATE ACCOUNT] 계좌 생성 완료 - 계좌번호: {}, 초기잔액: {}", accountNumber, account.getBalance());
 
@@ -79,11 +79,57 @@ public class AccountService {
         );
     }
 
-    private String generateUniqueAccountNumber() {
-        String number;
-        do {
-            number = String.valueOf(10000000000000L + (long) (Math.random() * 89999999999999L));
-        } while (accountRepository.existsByAccountNumber(number));
-        return number;
+    // 가입 시 첫 계좌 - 번호만 발급해서 붙여 두고 INSERT 는 사용자 저장 시 cascade 로 같이 나감
+    public Account newAccount(User user, BigDecimal balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumberAllocator.next());
+        account.setUser(user);
+        account.setBalance(balance);
+        account.setCreatedAt(LocalDateTime.now());
+        user.getAccounts().add(account);
+        return account;
+    }
+
+    // 잔액 버킷 수 변경: 기존 버킷 잔액을 계좌 행으로 모두 모은 뒤 버킷 행을 새 개수에 맞춤
+    @Transactional
+    public GetMyAccountResponse configureBalanceBuckets(String accountNumber, int bucketCount, String userId) {
+        log.info("[BALANCE BUCKET] 요청 - userId: {}, 계좌: {}, 버킷 수: {}", userId, accountNumber, bucketCount);
+
+        // 계좌 행을 잠가서 같은 계좌 출금 / 버킷 정리와 겹치지 않게
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber);
+        if (account == null) {
+            throw new RuntimeException("Account not found");
+        }
+        if (!account.getUser().getUserId().equals(userId)) {
+            log.warn("[BALANCE BUCKET] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, accountNumber);
+            throw new SecurityException("Unauthorized access to account");
+        }
+
+        accountJdbcRepository.sweepBuckets(accountNumber);
+        accountJdbcRepository.deleteBucketsFrom(accountNumber, bucketCount);
+        accountJdbcRepository.createBuckets(accountNumber, bucketCount);
+        accountJdbcRepository.updateBucketCount(accountNumber, bucketCount);
+        hotAccountRegistry.invalidateAfterCommit(accountNumber);
+
+        log.info("[BALANCE BUCKET] 설정 완료 - 계좌: {}, 버킷 수: {}", accountNumber, bucketCount);
+        return new GetMyAccountResponse(accountNumber, accountJdbcRepository.findBalance(accountNumber), account.getCreatedAt());
+    }
+
+    private List<GetMyAccountResponse> loadMyAccounts(String userId) {
+        return accountRepository.findByUser_UserId(userId).stream()
+                .map(account -> new GetMyAccountResponse(
+                        account.getAccountNumber(),
+                        balanceOf(account),
+                        account.getCreatedAt()
+                ))
+                .toList();
+    }
+
+    // 버킷 계좌만 버킷 합계를 더함
+    private BigDecimal balanceOf(Account account) {
+        if (account.getBucketCount() == 0) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(accountJdbcRepository.sumBuckets(account.getAccountNumber()));
     }
 }
@@ -0,0 +1,402 @@
+package com.eouil.bank.bankapi.services;
+
+import com.eouil.bank.bankapi.concurrency.CircuitBreaker;
+import com.eouil.bank.bankapi.dtos.responses.GetMyAccountResponse;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// GET /api/accounts/me 응답(사용자별 계좌 요약) 캐시 - 로컬 LRU + Redis
+// 잔액이 바뀌는 트랜잭션이 커밋되면 해당 계좌 주인의 항목을 무효화
+// 버전: 무효화마다 버전을 올리고, 로드를 시작할 때 본 버전이 그대로일 때만 저장 → 늦게 끝난 오래된 조회가 새 값을 덮지 못함
+// 계좌 → 주인 인덱스는 잔액을 읽기 전에 기록 → 첫 로드 도중 커밋된 변경도 주인을 찾아 버전을 올림
+@Slf4j
+@Component
+public class AccountSummaryCache {
+    private static final String SUMMARY_PREFIX = "ACCT:SUM:";
+    private static final String VERSION_PREFIX = "ACCT:VER:";
+    private static final String OWNER_PREFIX = "ACCT:OWN:";
+    // 무효화 이벤트 채널 (다른 인스턴스 로컬 LRU 무효화용)
+    private static final String CHANGE_CHANNEL = "ACCT:EVENTS";
+    // 커밋 후 무효화할 계좌 목록의 트랜잭션 리소스 키
+    private static final String PENDING_KEY = AccountSummaryCache.class.getName() + ".pending";
+    private static final TypeReference<List<GetMyAccountResponse>> SUMMARY_TYPE = new TypeReference<>() {
+    };
+
+    // KEYS: 버전, 요약, 계좌 주인 인덱스... / ARGV: 읽은 버전, 요약 JSON, TTL, userId
+    // 주인 인덱스는 바뀌지 않는 사실이라 항상 기록, 요약은 버전이 그대로일 때만
+    private static final RedisScript<Long> STORE_IF_CURRENT = new DefaultRedisScript<>(
+            "for i = 3, #KEYS do redis.call('SET', KEYS[i], ARGV[4], 'PX', ARGV[3] * 2) end " +
+            "if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[2], ARGV[1] .. '|' .. ARGV[2], 'PX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    // KEYS: 계좌 주인 인덱스... / ARGV: userId, TTL
+    private static final RedisScript<Long> INDEX_OWNERS = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2]) end " +
+            "return 1", Long.class);
+
+    // KEYS: (버전, 요약) 쌍... / ARGV: 버전 TTL, 채널, 이벤트...
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS, 2 do " +
+            "  redis.call('INCR', KEYS[i]) " +
+            "  redis.call('PEXPIRE', KEYS[i], ARGV[1]) " +
+            "  redis.call('DEL', KEYS[i + 1]) " +
+            "end " +
+            "for i = 3, #ARGV do redis.call('PUBLISH', ARGV[2], ARGV[i]) end " +
+            "return 1", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker breaker;
+    private final boolean redisEnabled;
+    private final long localTtlMillis;
+    private final long redisTtlMillis;
+    // 자기 인스턴스가 보낸 무효화 이벤트는 무시
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // userId → 요약 (접근 순서 LRU), 무효화된 사용자는 값 없는 tombstone 으로 버전만 남김
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedSummary> entries;
+    private final AtomicLong sequence = new AtomicLong();
+    // LRU 로 밀려난 항목의 최대 버전 - tombstone 이 밀려나도 그 전에 시작한 로드는 저장하지 않도록
+    private long evictedFloor;
+    // 계좌번호 → 주인 userId (계좌 단위 무효화용)
+    private final ExpiringCache<String, String> owners;
+
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+    private final Counter localStaleWriteCounter;
+    private final Counter redisStaleWriteCounter;
+    private final DistributionSummary ageSummary;
+
+    public AccountSummaryCache(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               ObjectMapper objectMapper,
+                               MeterRegistry registry,
+                               @Value("${custom.account.summary-cache.redis-enabled:true}") boolean redisEnabled,
+                               @Value("${custom.account.summary-cache.local-max-size:10000}") int localMaxSize,
+                               @Value("${custom.account.summary-cache.local-ttl-ms:5000}") long localTtlMillis,
+                               @Value("${custom.account.summary-cache.redis-ttl-ms:30000}") long redisTtlMillis,
+                               @Value("${custom.auth.redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${custom.auth.redis.circuit-breaker.open-ms:10000}") long openMillis) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.localTtlMillis = localTtlMillis;
+        this.redisTtlMillis = redisTtlMillis;
+        this.breaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.owners = new ExpiringCache<>(localMaxSize * 2);
+
+        int maxSize = Math.max(1, localMaxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSummary> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                evictedFloor = Math.max(evictedFloor, eldest.getValue().version);
+                return true;
+            }
+        };
+
+        this.localHitCounter = requests(registry, "local_hit");
+        this.redisHitCounter = requests(registry, "redis_hit");
+        this.missCounter = requests(registry, "miss");
+        this.localStaleWriteCounter = staleWrites(registry, "local");
+        this.redisStaleWriteCounter = staleWrites(registry, "redis");
+        this.ageSummary = DistributionSummary.builder("account_summary_cache_age_ms")
+                .description("로컬 캐시에서 응답한 요약이 로드된 뒤 지난 시간")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("account_summary_cache_size", this, AccountSummaryCache::size)
+                .register(registry);
+    }
+
+    @PostConstruct
+    void subscribeChangeEvents() {
+        if (!redisEnabled) {
+            return;
+        }
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String event = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = event.indexOf('|');
+            if (separator > 0 && !event.substring(0, separator).equals(instanceId)) {
+                evictLocal(event.substring(separator + 1));
+            }
+        }, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    // accountNumbers: 사용자의 계좌번호만 (잔액 조회 전에 주인 인덱스를 기록하는 데 사용)
+    public List<GetMyAccountResponse> get(String userId, Supplier<List<String>> accountNumbers,
+                                          Supplier<List<GetMyAccountResponse>> loader) {
+        long now = System.currentTimeMillis();
+        long observed;
+        lock.lock();
+        try {
+            CachedSummary entry = entries.get(userId);
+            if (entry != null && entry.summaries != null && entry.expiresAtMillis > now) {
+                localHitCounter.increment();
+                ageSummary.record(now - entry.loadedAtMillis);
+                return entry.summaries;
+            }
+            observed = sequence.get();
+        } finally {
+            lock.unlock();
+        }
+
+        // 요약과 버전을 한 번에 읽음 (무효화가 둘을 함께 바꾸므로 요약이 있으면 최신)
+        List<String> remote = redis(() -> redisTemplate.opsForValue().multiGet(List.of(SUMMARY_PREFIX + userId, VERSION_PREFIX + userId)));
+        if (remote != null && remote.get(0) != null) {
+            List<GetMyAccountResponse> cached = decode(remote.get(0));
+            if (cached != null) {
+                redisHitCounter.increment();
+                putLocal(userId, cached, observed);
+                return cached;
+            }
+        }
+
+        missCounter.increment();
+        indexOwners(userId, accountNumbers.get(), remote != null);
+        List<GetMyAccountResponse> loaded = loader.get();
+        putLocal(userId, loaded, observed);
+        if (remote != null) {
+            storeRemote(userId, remote.get(1) != null ? remote.get(1) : "0", loaded);
+        }
+        return loaded;
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 계좌 주인들의 요약 무효화 (트랜잭션 밖이면 바로)
+    public void evictAccountsAfterCommit(String... accountNumbers) {
+        List<String> accounts = new ArrayList<>(accountNumbers.length);
+        for (String accountNumber : accountNumbers) {
+            if (accountNumber != null) {
+                accounts.add(accountNumber);
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAccounts(accounts);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            Set<String> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                    if (status == STATUS_COMMITTED) {
+                        evictAccounts(created);
+                    }
+                }
+            });
+            pending = created;
+        }
+        pending.addAll(accounts);
+    }
+
+    // 계좌 생성처럼 사용자를 이미 아는 경우
+    public void evictUser(String userId) {
+        evictUsers(Set.of(userId));
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictAccounts(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return;
+        }
+        Set<String> users = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            String owner = owners.get(accountNumber);
+            if (owner != null) {
+                users.add(owner);
+            } else {
+                unknown.add(accountNumber);
+            }
+        }
+        // 이 인스턴스가 모르는 계좌는 Redis 인덱스에서 주인 확인
+        // 인덱스는 로드 전에 기록되므로, 없으면 어디에도 캐시되지 않았고 진행 중인 로드도 이 커밋 이후에 잔액을 읽음
+        if (!unknown.isEmpty()) {
+            List<String> remoteOwners = redis(() -> redisTemplate.opsForValue().multiGet(unknown.stream().map(a -> OWNER_PREFIX + a).toList()));
+            if (remoteOwners != null) {
+                remoteOwners.stream().filter(Objects::nonNull).forEach(users::add);
+            }
+        }
+        evictUsers(users);
+    }
+
+    private void evictUsers(Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userIds.forEach(this::evictLocal);
+
+        List<String> keys = new ArrayList<>(userIds.size() * 2);
+        List<String> args = new ArrayList<>(userIds.size() + 2);
+        args.add(String.valueOf(redisTtlMillis * 4));
+        args.add(CHANGE_CHANNEL);
+        for (String userId : userIds) {
+            keys.add(VERSION_PREFIX + userId);
+            keys.add(SUMMARY_PREFIX + userId);
+            args.add(instanceId + "|" + userId);
+        }
+        Long result = redis(() -> redisTemplate.execute(EVICT, keys, args.toArray()));
+        if (result == null && redisEnabled) {
+            // Redis 쪽 요약은 redis-ttl-ms 안에 만료됨 (그 동안 다른 인스턴스는 이전 값을 볼 수 있음)
+            log.warn("[ACCOUNT CACHE] Redis 무효화 실패 - 사용자 {}명", userIds.size());
+        }
+    }
+
+    private void evictLocal(String userId) {
+        lock.lock();
+        try {
+            entries.put(userId, new CachedSummary(sequence.incrementAndGet(), null, 0, Long.MAX_VALUE));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 로드를 시작할 때 본 버전 이후로 무효화가 없었을 때만 저장
+    private void putLocal(String userId, List<GetMyAccountResponse> summaries, long observed) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            CachedSummary existing = entries.get(userId);
+            if (observed < evictedFloor || (existing != null && existing.version > observed)) {
+                localStaleWriteCounter.increment();
+                return;
+            }
+            entries.put(userId, new CachedSummary(observed, summaries, now, now + localTtlMillis));
+        } finally {
+            lock.unlock();
+        }
+        long ownerExpiresAt = now + Math.max(localTtlMillis, redisTtlMillis) * 2;
+        summaries.forEach(s -> owners.put(s.getAccountNumber(), userId, ownerExpiresAt));
+    }
+
+    private void indexOwners(String userId, List<String> accountNumbers, boolean remote) {
+        long ownerTtlMillis = Math.max(localTtlMillis, redisTtlMillis) * 2;
+        long expiresAt = System.currentTimeMillis() + ownerTtlMillis;
+        accountNumbers.forEach(accountNumber -> owners.put(accountNumber, userId, expiresAt));
+        if (remote && !accountNumbers.isEmpty()) {
+            List<String> keys = accountNumbers.stream().map(a -> OWNER_PREFIX + a).toList();
+            redis(() -> redisTemplate.execute(INDEX_OWNERS, keys, userId, String.valueOf(ownerTtlMillis)));
+        }
+    }
+
+    private void storeRemote(String userId, String version, List<GetMyAccountResponse> summaries) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(summaries);
+        } catch (JsonProcessingException e) {
+            log.warn("[ACCOUNT CACHE] 요약 직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        List<String> keys = new ArrayList<>(summaries.size() + 2);
+        keys.add(VERSION_PREFIX + userId);
+        keys.add(SUMMARY_PREFIX + userId);
+        summaries.forEach(s -> keys.add(OWNER_PREFIX + s.getAccountNumber()));
+        Long stored = redis(() -> redisTemplate.execute(STORE_IF_CURRENT, keys, version, json, String.valueOf(redisTtlMillis), userId));
+        if (stored != null && stored == 0) {
+            redisStaleWriteCounter.increment();
+        }
+    }
+
+    private List<GetMyAccountResponse> decode(String value) {
+        int separator = value.indexOf('|');
+        try {
+            return objectMapper.readValue(value.substring(separator + 1), SUMMARY_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("[ACCOUNT CACHE] 요약 역직렬화 실패 → DB 조회: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Redis 호출 - 꺼져 있거나 서킷이 열려 있거나 실패하면 null
+    private <T> T redis(Supplier<T> call) {
+        if (!redisEnabled || !breaker.tryAcquire()) {
+            return null;
+        }
+        try {
+            T result = call.get();
+            breaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            log.warn("[ACCOUNT CACHE] Redis 실패 → 로컬 캐시 / DB 로 처리 (circuit: {}): {}", breaker.state(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("account_summary_cache_requests_total")
+                .description("계좌 요약 조회 - 로컬 / Redis 적중, 미스")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter staleWrites(MeterRegistry registry, String tier) {
+        return Counter.builder("account_summary_cache_stale_write_total")
+                .description("로드 중 무효화가 있어 저장하지 않은 요약 수")
+                .tag("tier", tier)
+                .register(registry);
+    }
+
+    private static final class CachedSummary {
+        private final long version;
+        private final List<GetMyAccountResponse> summaries;
+        private final long loadedAtMillis;
+        private final long expiresAtMillis;
+
+        private CachedSummary(long version, List<GetMyAccountResponse> summaries, long loadedAtMillis, long expiresAtMillis) {
+            this.version = version;
+            this.summaries = summaries;
+            this.loadedAtMillis = loadedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
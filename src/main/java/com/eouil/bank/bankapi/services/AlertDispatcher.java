@@ -0,0 +1,249 @@
+package com.eouil.bank.bankapi.services;
+
+import com.eouil.bank.bankapi.domains.AlertOutbox;
+import com.eouil.bank.bankapi.domains.AlertStatus;
+import com.eouil.bank.bankapi.events.SuspiciousWithdrawalEvent;
+import com.eouil.bank.bankapi.logging.TraceContext;
+import com.eouil.bank.bankapi.repositories.AlertOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 알림 발송 파이프라인
+// 커밋 후 outbox id 를 제한된 큐에 넣고, 워커가 모아서 수신자별로 한 통씩 발송
+// 큐가 넘치거나 발송 실패 / 재시작으로 빠진 건은 outbox 스위퍼가 다시 넣음
+@Slf4j
+@Component
+public class AlertDispatcher {
+
+    private final AlertService alertService;
+    private final AlertOutboxRepository alertOutboxRepository;
+
+    private final BlockingQueue<Long> queue;
+    // 큐에 들어있거나 처리 중인 id (같은 알림 중복 적재 방지)
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+
+    private final int workerCount;
+    private final int batchSize;
+    private final long coalesceMillis;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long leaseMillis;
+
+    private final Counter rejectedCounter;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    public AlertDispatcher(AlertService alertService,
+                           AlertOutboxRepository alertOutboxRepository,
+                           MeterRegistry registry,
+                           @Value("${custom.alert.queue-capacity:1000}") int queueCapacity,
+                           @Value("${custom.alert.workers:2}") int workerCount,
+                           @Value("${custom.alert.batch-size:50}") int batchSize,
+                           @Value("${custom.alert.coalesce-ms:200}") long coalesceMillis,
+                           @Value("${custom.alert.max-attempts:5}") int maxAttempts,
+                           @Value("${custom.alert.base-backoff-ms:5000}") long baseBackoffMillis,
+                           @Value("${custom.alert.lease-ms:60000}") long leaseMillis,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.alertService = alertService;
+        this.alertOutboxRepository = alertOutboxRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = Math.max(1, batchSize);
+        this.coalesceMillis = coalesceMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.leaseMillis = leaseMillis;
+
+        // 워커는 SES 호출에서 대부분 블로킹 → 가상 스레드 모드면 가상 스레드로
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerCount, virtualThreads
+                ? Thread.ofVirtual().name("alert-worker-", 1).factory()
+                : r -> {
+                    Thread t = new Thread(r, "alert-worker-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        registry.gauge("alert_queue_size", queue, BlockingQueue::size);
+        this.rejectedCounter = Counter.builder("alert_queue_rejected_total")
+                .description("큐가 가득 차서 스위퍼로 넘긴 알림 수")
+                .register(registry);
+        this.sentCounter = Counter.builder("alert_sent_total").register(registry);
+        this.retryCounter = Counter.builder("alert_retry_total").register(registry);
+        this.failedCounter = Counter.builder("alert_failed_total")
+                .description("재시도 한도를 넘겨 포기한 알림 수")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.shutdownNow();
+    }
+
+    // 롤백된 출금의 알림은 나가지 않도록 커밋 후에만 적재
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSuspiciousWithdrawal(SuspiciousWithdrawalEvent event) {
+        enqueue(event.getOutboxId());
+    }
+
+    // 재시도 시각이 지난 PENDING 알림을 점유해서 큐에 다시 넣음
+    @Scheduled(fixedDelayString = "${custom.alert.sweep-ms:30000}")
+    public void sweep() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMillis));
+        int requeued = 0;
+        for (Long id : alertOutboxRepository.findDueIds(AlertStatus.PENDING, now, PageRequest.of(0, capacity))) {
+            if (alertOutboxRepository.claim(id, AlertStatus.PENDING, now, leaseUntil) != 1) {
+                continue;
+            }
+            if (!enqueue(id)) {
+                break;
+            }
+            requeued++;
+        }
+        if (requeued > 0) {
+            log.info("[ALERT] 미발송 알림 재적재 - {}건", requeued);
+        }
+    }
+
+    // 요청 스레드는 막지 않음 - 큐가 가득 차면 outbox 에 PENDING 으로 남겨 두고 스위퍼에 맡김
+    private boolean enqueue(Long id) {
+        if (!queued.add(id)) {
+            return true;
+        }
+        if (!queue.offer(id)) {
+            queued.remove(id);
+            rejectedCounter.increment();
+            log.warn("[ALERT] 알림 큐 포화 - outbox {} 는 스위퍼가 재처리", id);
+            return false;
+        }
+        return true;
+    }
+
+    private void runWorker() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                // 잠깐 더 모아서 같은 수신자 알림을 한 통으로 합침
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(coalesceMillis);
+                while (batch.size() < batchSize) {
+                    Long next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // outbox 상태는 그대로라 임대 만료 후 스위퍼가 재시도
+                log.error("[ALERT] 알림 발송 워커 오류", e);
+            } finally {
+                batch.forEach(queued::remove);
+                batch.clear();
+            }
+        }
+    }
+
+    // 임대가 이미 끝난 알림은 스위퍼가 다시 점유하도록 건너뜀 (다른 인스턴스와 중복 발송 방지)
+    private void dispatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<AlertOutbox>> byRecipient = alertOutboxRepository.findAllById(ids).stream()
+                .filter(alert -> alert.getStatus() == AlertStatus.PENDING && alert.getNextAttemptAt().isAfter(now))
+                .collect(Collectors.groupingBy(AlertOutbox::getRecipient, LinkedHashMap::new, Collectors.toList()));
+
+        // 수신자별 발송은 첫 알림을 만든 요청의 trace 로 이어서 기록 (나머지 알림은 outbox id 로 연결)
+        byRecipient.forEach((recipient, alerts) -> TraceContext.run(alerts.get(0).getTraceParent(), () -> {
+            try {
+                alertService.sendSuspiciousWithdrawalEmail(recipient, alerts);
+                markSent(alerts);
+            } catch (Exception e) {
+                log.warn("[ALERT] 메일 발송 실패 - {} ({}건): {}", recipient, alerts.size(), e.getMessage());
+                markFailed(alerts);
+            }
+        }));
+    }
+
+    // 같은 임대 시각으로 점유된 알림끼리 한 문장으로 (스위퍼가 점유한 묶음은 임대 시각이 같음)
+    private void markSent(List<AlertOutbox> alerts) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<LocalDateTime, List<Long>> byClaim = alerts.stream().collect(Collectors.groupingBy(
+                AlertOutbox::getNextAttemptAt, LinkedHashMap::new, Collectors.mapping(AlertOutbox::getId, Collectors.toList())));
+        int updated = 0;
+        for (Map.Entry<LocalDateTime, List<Long>> claim : byClaim.entrySet()) {
+            updated += alertOutboxRepository.markSent(claim.getValue(), claim.getKey(), now, AlertStatus.PENDING, AlertStatus.SENT);
+        }
+        sentCounter.increment(updated);
+        if (updated < alerts.size()) {
+            log.warn("[ALERT] 발송 중 임대 만료 - {}건은 다른 워커가 점유해서 상태를 갱신하지 않음", alerts.size() - updated);
+        }
+    }
+
+    private void markFailed(List<AlertOutbox> alerts) {
+        LocalDateTime now = LocalDateTime.now();
+        for (AlertOutbox alert : alerts) {
+            int attempts = alert.getAttempts() + 1;
+            boolean giveUp = attempts >= maxAttempts;
+            // 지수 백오프 (스위퍼가 이 시각 이후에 다시 가져감)
+            LocalDateTime nextAttemptAt = giveUp
+                    ? alert.getNextAttemptAt()
+                    : now.plus(Duration.ofMillis(baseBackoffMillis << Math.min(attempts - 1, 16)));
+            if (alertOutboxRepository.markAttemptFailed(alert.getId(), alert.getNextAttemptAt(), AlertStatus.PENDING,
+                    giveUp ? AlertStatus.FAILED : AlertStatus.PENDING, nextAttemptAt) != 1) {
+                log.warn("[ALERT] 발송 중 임대 만료 - outbox {} 는 다른 워커가 점유해서 상태를 갱신하지 않음", alert.getId());
+                continue;
+            }
+            if (giveUp) {
+                failedCounter.increment();
+                log.error("[ALERT] 재시도 한도 초과 - outbox {} 발송 포기", alert.getId());
+            } else {
+                retryCounter.increment();
+            }
+        }
+    }
+}
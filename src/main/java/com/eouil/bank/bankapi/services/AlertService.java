@@ -1,13 +1,23 @@
 package com.eouil.bank.bankapi.services;
 
+import com.eouil.bank.bankapi.domains.AlertOutbox;
+import com.eouil.bank.bankapi.domains.AlertStatus;
+import com.eouil.bank.bankapi.events.SuspiciousWithdrawalEvent;
+import com.eouil.bank.bankapi.logging.TraceContext;
+import com.eouil.bank.bankapi.repositories.AlertOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -15,15 +25,44 @@ import java.math.BigDecimal;
 public class AlertService {
 
     private final SesClient sesClient;
+    private final AlertOutboxRepository alertOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${cloud.aws.ses.sender}")
     private String senderEmail;
 
-    public void sendSuspiciousWithdrawalEmail(String toEmail, String accountNumber, BigDecimal amount) {
+    @Value("${custom.alert.lease-ms:60000}")
+    private long leaseMillis;
+
+    // 출금 트랜잭션 안에서는 outbox 기록만 - 실제 발송은 커밋 후 AlertDispatcher 가 처리
+    public void recordSuspiciousWithdrawal(String toEmail, String accountNumber, BigDecimal amount) {
+        if (toEmail == null) {
+            log.warn("[ALERT] 수신 이메일 없음 - 계좌 {} 알림 생략", accountNumber);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        AlertOutbox alert = new AlertOutbox();
+        alert.setRecipient(toEmail);
+        alert.setAccountNumber(accountNumber);
+        alert.setAmount(amount);
+        alert.setStatus(AlertStatus.PENDING);
+        alert.setCreatedAt(now);
+        alert.setTraceParent(TraceContext.current());
+        // 커밋 직후 디스패처가 처리하는 동안 스위퍼가 중복으로 가져가지 않도록 임대 시간 설정
+        alert.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMillis)));
+        alertOutboxRepository.save(alert);
+
+        eventPublisher.publishEvent(new SuspiciousWithdrawalEvent(alert.getId()));
+    }
+
+    // 같은 수신자 알림 여러 건을 메일 한 통으로 발송 (실패는 호출 쪽에서 재시도 처리)
+    public void sendSuspiciousWithdrawalEmail(String toEmail, List<AlertOutbox> alerts) {
         String subject = "🚨 출금 경고 알림";
-        String bodyText = String.format(
-                "경고: 계좌 %s에서 %s원이 출금 시도되었습니다.\n" +
-                        "출금 내역을 확인해 주세요.", accountNumber, amount.toPlainString());
+        String bodyText = alerts.stream()
+                .map(alert -> String.format("경고: 계좌 %s에서 %s원이 출금 시도되었습니다.",
+                        alert.getAccountNumber(), alert.getAmount().toPlainString()))
+                .collect(Collectors.joining("\n", "", "\n출금 내역을 확인해 주세요."));
 
         Destination destination = Destination.builder()
                 .toAddresses(toEmail)
@@ -54,11 +93,7 @@ public class AlertService {
                 .source(senderEmail)
                 .build();
 
-        try {
-            sesClient.sendEmail(emailRequest);
-            log.info("[ALERT] 경고 메일 발송 완료: {}", toEmail);
-        } catch (Exception e) {
-            log.error("[ALERT] 메일 발송 실패", e);
-        }
+        sesClient.sendEmail(emailRequest);
+        log.info("[ALERT] 경고 메일 발송 완료: {} ({}건)", toEmail, alerts.size());
     }
 }
@@ -1,23 +1,23 @@
 package com.eouil.bank.bankapi.services;
 
+import com.eouil.bank.bankapi.domains.Account;
 import com.eouil.bank.bankapi.domains.User;
-import com.eouil.bank.bankapi.dtos.requests.CreateAccountRequest;
 import com.eouil.bank.bankapi.dtos.requests.JoinRequest;
 import com.eouil.bank.bankapi.dtos.requests.LoginRequest;
 import com.eouil.bank.bankapi.dtos.responses.JoinResponse;
 import com.eouil.bank.bankapi.dtos.responses.LoginResponse;
 import com.eouil.bank.bankapi.exceptions.*;
 import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.LoginAttemptLimiter;
 import com.eouil.bank.bankapi.utils.JwtUtil;
-import com.warrenstrange.googleauth.GoogleAuthenticator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.env.Environment;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.UUID;
 
 @Slf4j
@@ -25,70 +25,85 @@ import java.util.UUID;
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
-    private final Environment env;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final MfaSecretService mfaSecretService;
 
     private final AccountService accountService;
     private final RedisTokenService redisTokenService;
     private final JwtUtil jwtUtil;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       Environment env,
-                       RedisTemplate<String, String> redisTemplate,
+                       MfaSecretService mfaSecretService,
                        AccountService accountService,
                        RedisTokenService redisTokenService,
-                       JwtUtil jwtUtil) {
+                       JwtUtil jwtUtil,
+                       LoginAttemptLimiter loginAttemptLimiter,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.env = env;
-        this.redisTemplate = redisTemplate;
+        this.mfaSecretService = mfaSecretService;
         this.accountService = accountService;
         this.redisTokenService = redisTokenService;
         this.jwtUtil = jwtUtil;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public boolean isLocal() {
-        return Arrays.asList(env.getActiveProfiles()).contains("local");
+        return mfaSecretService.isLocal();
     }
 
+    // 가입: 중복 확인 조회 없이 이메일 unique 제약으로 판단
+    // BCrypt 해시는 트랜잭션(커넥션) 밖에서 먼저 하고, 사용자 + 첫 계좌 INSERT 는 한 트랜잭션에서 한 번에 flush
     public JoinResponse join(JoinRequest joinRequest) {
         log.info("➡️ [JOIN] 요청 - email: {}", joinRequest.email);
 
-        if (userRepository.findByEmail(joinRequest.email).isPresent()) {
-            log.warn("[JOIN] 중복 이메일 시도 - {}", joinRequest.email);
-            throw new DuplicateEmailException();
-        }
-
         String userId = UUID.randomUUID().toString();
         User user = new User();
         user.setUserId(userId);
         user.setName(joinRequest.name);
         user.setEmail(joinRequest.email);
         user.setPassword(passwordEncoder.encode(joinRequest.password));
-        userRepository.save(user);
+        // 초기 잔액 0원 계좌 자동 생성
+        Account account = accountService.newAccount(user, BigDecimal.ZERO);
 
-        CreateAccountRequest acctReq = new CreateAccountRequest();
-        acctReq.setBalance(BigDecimal.valueOf(0));  // 초기 잔액을 0원으로 설정
-        accountService.createAccount(acctReq, userId);
-        log.info("[JOIN] 자동 계좌 생성 완료 - userId: {}, initialBalance: {}", userId, 0);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 제약 위반과 구분 - 실패한 경우에만 한 번 조회
+            if (userRepository.findByEmail(joinRequest.email).isPresent()) {
+                log.warn("[JOIN] 중복 이메일 시도 - {}", joinRequest.email);
+                throw new DuplicateEmailException();
+            }
+            throw e;
+        }
 
-        log.info("[JOIN] 완료 - userId: {}, email: {}", userId, user.getEmail());
+        log.info("[JOIN] 완료 - userId: {}, email: {}, 계좌번호: {}", userId, user.getEmail(), account.getAccountNumber());
         return new JoinResponse(user.getName(), user.getEmail());
     }
 
-    public LoginResponse login(LoginRequest loginRequest) {
+    public LoginResponse login(LoginRequest loginRequest, String clientIp) {
         log.info("[LOGIN] 요청 - email: {}", loginRequest.email);
 
-        User user = userRepository.findByEmail(loginRequest.email)
-                .orElseThrow(() -> new UserNotFoundException(loginRequest.email));
+        // 잠긴 이메일 / IP 는 DB 조회와 BCrypt 계산 전에 거절
+        loginAttemptLimiter.check(LoginAttemptLimiter.LOGIN, loginRequest.email, clientIp);
+
+        User user = userRepository.findByEmail(loginRequest.email).orElse(null);
+        if (user == null) {
+            loginAttemptLimiter.onFailure(LoginAttemptLimiter.LOGIN, loginRequest.email, clientIp);
+            throw new UserNotFoundException(loginRequest.email);
+        }
 
         if (!passwordEncoder.matches(loginRequest.password, user.getPassword())) {
+            loginAttemptLimiter.onFailure(LoginAttemptLimiter.LOGIN, loginRequest.email, clientIp);
             throw new InvalidPasswordException();
         }
+        loginAttemptLimiter.onSuccess(LoginAttemptLimiter.LOGIN, loginRequest.email);
+        rehashIfNeeded(user, loginRequest.password);
 
-        String accessToken = jwtUtil.generateAccessToken(user.getUserId());
+        String accessToken = jwtUtil.generateAccessToken(user.getUserId(), user.getEmail());
         String refreshToken = jwtUtil.generateRefreshToken(user.getUserId());
 
         // Redis에 리프레시 토큰 저장
@@ -101,6 +116,20 @@ public class AuthService {
     }
 
 
+    // 저장된 해시의 cost 가 현재 설정과 다르면 원문을 아는 지금 다시 해시 (해시 풀이 바쁘면 다음 로그인으로 미룸)
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+            log.info("[LOGIN] 비밀번호 재해시 - userId: {}", user.getUserId());
+        } catch (PasswordHashingBusyException e) {
+            log.debug("[LOGIN] 해시 풀 포화로 재해시 생략 - userId: {}", user.getUserId());
+        }
+    }
+
     // 토큰 재발급 요청
     public LoginResponse refreshAccessToken(String refreshToken) {
         log.info("[REFRESH] 요청");
@@ -115,7 +144,7 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        String newAccessToken = jwtUtil.generateAccessToken(userId);
+        String newAccessToken = jwtUtil.generateAccessToken(userId, user.getEmail());
         boolean mfaRegistered = user.getMfaSecret() != null;
 
         return new LoginResponse(newAccessToken, refreshToken, mfaRegistered); // 이게 핵심!
@@ -131,14 +160,11 @@ public class AuthService {
 
         String userId = jwtUtil.validateTokenAndGetUserId(token);
 
-        // 리프레시 토큰 redis에서 삭제
-        redisTokenService.deleteRefreshToken(userId);
-
         // Access Token 남은 시간 계산 (시간 음수 결과값 방지 포함)
         long expireMillis = Math.max(0, jwtUtil.getExpiration(token) - System.currentTimeMillis());
 
-        // redis에 블랙리스트 등록
-        redisTokenService.addToBlacklist(token, expireMillis);
+        // 리프레시 토큰 삭제 + 블랙리스트 등록 (Redis 왕복 한 번)
+        redisTokenService.revoke(userId, token, expireMillis);
 
         log.info("[LOGOUT] 완료 - userId: {}", userId);
     }
@@ -148,49 +174,21 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        String secret = gAuth.createCredentials().getKey();
-        try {
-            saveSecret(user, secret);  // Redis or H2 저장 로직 분기
-        } catch (Exception e) {
-            log.warn("❗ Redis 저장 실패 → fallback to H2 저장: {}", e.getMessage());
-            saveSecretToH2(user.getEmail(), secret);
-        }
+        // Redis or H2 저장 + 로컬 캐시 무효화
+        String secret = mfaSecretService.createSecret(user);
 
         return String.format("otpauth://totp/%s?secret=%s&issuer=EouilBank", user.getEmail(), secret);
     }
 
-    public boolean verifyCode(String email, int code) {
-        String secret = isLocal() ? getSecretFromH2(email) : getSecretFromRedis(email);
-        return gAuth.authorize(secret, code);
-    }
-
-    private void saveSecretToH2(String email, String secret) {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException(email));
-        user.setMfaSecret(secret);
-        userRepository.save(user);
-    }
-
-    private String getSecretFromH2(String email) {
-        return userRepository.findByEmail(email)
-                .map(User::getMfaSecret)
-                .orElseThrow(() -> new MfaSecretNotFoundException("H2에서 " + email));
-    }
-
-    private void saveSecretToRedis(String email, String secret) {
-        redisTemplate.opsForHash().put("MFA:SECRETS", email, secret);
-    }
-
-    private String getSecretFromRedis(String email) {
-        Object secret = redisTemplate.opsForHash().get("MFA:SECRETS", email);
-        if (secret == null) throw new MfaSecretNotFoundException("Redis에서 " + email);
-        return (String) secret;
-    }
+    public boolean verifyCode(String email, int code, String clientIp) {
+        loginAttemptLimiter.check(LoginAttemptLimiter.MFA, email, clientIp);
 
-    private void saveSecret(User user, String secret) {
-        if (isLocal()) {
-            saveSecretToH2(user.getEmail(), secret);
+        boolean verified = mfaSecretService.verify(email, code);
+        if (verified) {
+            loginAttemptLimiter.onSuccess(LoginAttemptLimiter.MFA, email);
         } else {
-            saveSecretToRedis(user.getEmail(), secret);
+            loginAttemptLimiter.onFailure(LoginAttemptLimiter.MFA, email, clientIp);
         }
+        return verified;
     }
 }
@@ -0,0 +1,311 @@
+package com.eouil.bank.bankapi.services;
+
+import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.exceptions.GroupCommitTimeoutException;
+import com.eouil.bank.bankapi.exceptions.IdempotencyConflictException;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Idempotency-Key 기반 중복 요청 제거
+// 첫 요청이 Redis SET NX 로 키를 선점하고, 완료된 응답은 TTL 동안 보관해서 재요청에 그대로 돌려줌
+// 같은 인스턴스의 동시 중복 요청은 DB 락 경쟁 없이 첫 요청 결과를 기다림
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "IDEM:";
+    private static final String PENDING = "PENDING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    // 완료된 응답 로컬 캐시 (Redis 왕복 생략 + Redis 장애 시 대체 저장소)
+    private final ExpiringCache<String, IdempotencyRecord> completed;
+    // 커밋 여부를 모르는 요청의 키 → fingerprint (PENDING TTL 동안 같은 키 재실행 차단, Redis 장애 대비)
+    private final ExpiringCache<String, String> unresolved;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+    private final long pendingTtlMillis;
+    private final long waitTimeoutMillis;
+
+    private final Counter replayCounter;
+    private final Counter fallbackCounter;
+
+    public IdempotencyService(RedisTemplate<String, String> redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry registry,
+                              @Value("${custom.idempotency.local-cache.max-size:10000}") int localCacheMaxSize,
+                              @Value("${custom.idempotency.ttl-ms:86400000}") long ttlMillis,
+                              @Value("${custom.idempotency.pending-ttl-ms:30000}") long pendingTtlMillis,
+                              @Value("${custom.idempotency.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.completed = new ExpiringCache<>(localCacheMaxSize);
+        this.unresolved = new ExpiringCache<>(localCacheMaxSize);
+        this.ttlMillis = ttlMillis;
+        this.pendingTtlMillis = pendingTtlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        this.replayCounter = Counter.builder("idempotency_replay_total")
+                .description("저장된 응답으로 돌려준 중복 요청 수")
+                .register(registry);
+        this.fallbackCounter = Counter.builder("idempotency_redis_fallback_total")
+                .description("Redis 장애로 로컬 저장소만 사용한 횟수")
+                .register(registry);
+    }
+
+    public TransactionResponseDTO execute(String userId, String operation, String idempotencyKey, Object request,
+                                          Supplier<TransactionResponseDTO> action) {
+        // 헤더가 없으면 기존과 동일하게 처리
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        // 사용자 / API 별로 키 공간 분리, 키 원문 길이와 무관하게 고정 길이로
+        String key = KEY_PREFIX + userId + ":" + operation + ":" + digest(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        String fingerprint = fingerprint(request);
+
+        IdempotencyRecord cached = completed.get(key);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+        String unresolvedFingerprint = unresolved.get(key);
+        if (unresolvedFingerprint != null) {
+            checkFingerprint(unresolvedFingerprint, fingerprint);
+            throw new IdempotencyConflictException("같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        InFlight mine = new InFlight(fingerprint);
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return awaitLocal(running, fingerprint);
+        }
+
+        try {
+            TransactionResponseDTO response = executeReserved(key, fingerprint, action);
+            mine.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private TransactionResponseDTO executeReserved(String key, String fingerprint, Supplier<TransactionResponseDTO> action) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        while (true) {
+            Boolean reserved = reserve(key, fingerprint);
+            if (!Boolean.FALSE.equals(reserved)) {
+                // reserved == null 이면 Redis 장애 → 로컬 in-flight / 캐시만으로 중복 제거
+                return runAndStore(key, fingerprint, reserved != null, action);
+            }
+
+            // 다른 인스턴스가 선점한 키
+            IdempotencyRecord existing = load(key);
+            if (existing != null) {
+                if (COMPLETED.equals(existing.getStatus())) {
+                    completed.put(key, existing, System.currentTimeMillis() + ttlMillis);
+                    return replay(existing, fingerprint);
+                }
+                checkFingerprint(existing.getFingerprint(), fingerprint);
+            }
+            // existing == null 이면 선점했던 요청이 실패해서 키가 풀린 것 → 다시 선점 시도
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotencyConflictException("같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private TransactionResponseDTO runAndStore(String key, String fingerprint, boolean reservedInRedis,
+                                               Supplier<TransactionResponseDTO> action) {
+        TransactionResponseDTO response;
+        try {
+            response = action.get();
+        } catch (GroupCommitTimeoutException e) {
+            // 커밋 여부를 모름 → 키를 풀면 재시도가 한 번 더 반영될 수 있으므로 PENDING 으로 남겨 TTL 이 지날 때까지 차단
+            hold(key, fingerprint, reservedInRedis);
+            throw e;
+        } catch (RuntimeException e) {
+            // 실패한 요청은 키를 풀어서 같은 키로 재시도할 수 있게
+            if (reservedInRedis) {
+                release(key);
+            }
+            throw e;
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord(COMPLETED, fingerprint, response);
+        completed.put(key, record, System.currentTimeMillis() + ttlMillis);
+        store(key, record);
+        return response;
+    }
+
+    private TransactionResponseDTO awaitLocal(InFlight running, String fingerprint) {
+        checkFingerprint(running.fingerprint, fingerprint);
+        try {
+            TransactionResponseDTO response = running.future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            replayCounter.increment();
+            return response;
+        } catch (ExecutionException e) {
+            // 첫 요청과 같은 결과 (잔액 부족 등 같은 예외)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private TransactionResponseDTO replay(IdempotencyRecord record, String fingerprint) {
+        checkFingerprint(record.getFingerprint(), fingerprint);
+        replayCounter.increment();
+        return record.getResponse();
+    }
+
+    private void checkFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            throw new IdempotencyConflictException("다른 요청에 이미 사용된 Idempotency-Key 입니다.");
+        }
+    }
+
+    // SET NX PX - 선점 성공 true, 이미 있음 false, Redis 장애 null
+    private Boolean reserve(String key, String fingerprint) {
+        try {
+            return redisTemplate.opsForValue().setIfAbsent(key,
+                    write(new IdempotencyRecord(PENDING, fingerprint, null)), Duration.ofMillis(pendingTtlMillis));
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+            log.warn("[IDEMPOTENCY] Redis 선점 실패 → 로컬 중복 제거만 사용: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private IdempotencyRecord load(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            return value != null ? objectMapper.readValue(value, IdempotencyRecord.class) : null;
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("[IDEMPOTENCY] 저장된 응답 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, IdempotencyRecord record) {
+        try {
+            redisTemplate.opsForValue().set(key, write(record), Duration.ofMillis(ttlMillis));
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+            log.warn("[IDEMPOTENCY] Redis 저장 실패 → 로컬 캐시에만 보관: {}", e.getMessage());
+        }
+    }
+
+    private void hold(String key, String fingerprint, boolean reservedInRedis) {
+        unresolved.put(key, fingerprint, System.currentTimeMillis() + pendingTtlMillis);
+        if (!reservedInRedis) {
+            return;
+        }
+        try {
+            // 선점 후 흐른 시간만큼 짧아진 PENDING TTL 을 다시 채움
+            redisTemplate.expire(key, Duration.ofMillis(pendingTtlMillis));
+        } catch (DataAccessException e) {
+            log.warn("[IDEMPOTENCY] 키 유지 실패: {}", e.getMessage());
+        }
+        log.warn("[IDEMPOTENCY] 처리 결과 미확정 → 키 유지 - {}ms", pendingTtlMillis);
+    }
+
+    private void release(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException e) {
+            // PENDING 은 짧은 TTL 로 알아서 만료
+            log.warn("[IDEMPOTENCY] 키 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    // 같은 키로 다른 내용을 보내는 경우를 잡기 위한 요청 본문 해시
+    private String fingerprint(Object request) {
+        try {
+            return digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize request", e);
+        }
+    }
+
+    private String digest(byte[] value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("같은 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // Redis 에 JSON 으로 저장되는 값
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IdempotencyRecord {
+        private String status;
+        private String fingerprint;
+        private TransactionResponseDTO response;
+    }
+
+    private static final class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<TransactionResponseDTO> future = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
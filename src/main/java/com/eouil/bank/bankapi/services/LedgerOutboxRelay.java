@@ -0,0 +1,139 @@
+package com.eouil.bank.bankapi.services;
+
+import com.eouil.bank.bankapi.events.LedgerEvent;
+import com.eouil.bank.bankapi.events.LedgerEventSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ledger_outbox 의 미발행 행을 싱크에 발행 (at-least-once)
+// 발행 성공 후에만 published_at 을 채우므로 중간에 죽으면 마지막 배치가 다시 나갈 수 있음
+// id 는 INSERT 순서로 붙지만 커밋 순서는 다를 수 있음 (그룹 커밋 / 락 대기 등) → 오프셋 대신 행마다 발행 여부를 기록해서
+// 늦게 커밋된 낮은 id 도 다음 주기에 발행 (이때는 더 큰 id 보다 늦게 나갈 수 있으므로 소비자는 transactionId 로 정렬 / 중복 제거)
+@Slf4j
+@Component
+public class LedgerOutboxRelay {
+
+    private static final String SELECT_SQL =
+            "SELECT id, transaction_id, from_account_number, to_account_number, type, amount, memo, status, " +
+            "balance_after, created_at FROM ledger_outbox WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final RowMapper<LedgerEvent> ROW_MAPPER = (rs, rowNum) -> LedgerEvent.builder()
+            .outboxId(rs.getLong("id"))
+            .transactionId(rs.getLong("transaction_id"))
+            .fromAccountNumber(rs.getString("from_account_number"))
+            .toAccountNumber(rs.getString("to_account_number"))
+            .type(rs.getString("type"))
+            .amount(rs.getBigDecimal("amount"))
+            .memo(rs.getString("memo"))
+            .status(rs.getString("status"))
+            .balanceAfter(rs.getBigDecimal("balance_after"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerEventSink sink;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long retentionHours;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer publishTimer;
+    private final AtomicLong lag = new AtomicLong();
+
+    public LedgerOutboxRelay(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             LedgerEventSink sink,
+                             MeterRegistry registry,
+                             @Value("${custom.ledger-outbox.batch-size:500}") int batchSize,
+                             @Value("${custom.ledger-outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                             @Value("${custom.ledger-outbox.retention-hours:72}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.retentionHours = retentionHours;
+
+        this.publishedCounter = Counter.builder("ledger_outbox_published_total")
+                .tag("sink", sink.name())
+                .register(registry);
+        this.failureCounter = Counter.builder("ledger_outbox_publish_failure_total")
+                .tag("sink", sink.name())
+                .register(registry);
+        this.publishTimer = Timer.builder("ledger_outbox_publish")
+                .tag("sink", sink.name())
+                .register(registry);
+        registry.gauge("ledger_outbox_lag", lag);
+    }
+
+    @Scheduled(fixedDelayString = "${custom.ledger-outbox.relay-interval-ms:1000}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer published;
+            try {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("[LEDGER OUTBOX] 발행 실패 → 다음 주기에 재시도: {}", e.getMessage());
+                break;
+            }
+            if (published == null || published < batchSize) {
+                break;
+            }
+        }
+        updateLag();
+    }
+
+    // 발행이 끝난 오래된 outbox 행 정리
+    @Scheduled(fixedDelayString = "${custom.ledger-outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM ledger_outbox WHERE published_at < ? LIMIT 10000",
+                LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("[LEDGER OUTBOX] 발행 완료 행 정리 - {}건", deleted);
+        }
+    }
+
+    // 미발행 행을 잠근 채 한 배치 발행
+    // 커밋 전 행은 보이지 않으므로 커밋되는 대로 다음 주기에 잡히고, 다른 인스턴스가 잠근 행은 SKIP LOCKED 로 건너뜀
+    private int relayBatch() {
+        List<LedgerEvent> ready = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, batchSize);
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        publishTimer.record(() -> sink.publish(ready));
+
+        List<Object[]> args = ready.stream()
+                .map(event -> new Object[]{LocalDateTime.now(), event.getOutboxId()})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE ledger_outbox SET published_at = ? WHERE id = ?", args);
+        publishedCounter.increment(ready.size());
+        return ready.size();
+    }
+
+    private void updateLag() {
+        try {
+            Long pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM ledger_outbox WHERE published_at IS NULL", Long.class);
+            lag.set(pending != null ? pending : 0);
+        } catch (Exception e) {
+            log.debug("[LEDGER OUTBOX] lag 계산 실패: {}", e.getMessage());
+        }
+    }
+}
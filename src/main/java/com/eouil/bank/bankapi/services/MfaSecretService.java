@@ -0,0 +1,220 @@
+package com.eouil.bank.bankapi.services;
+
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.exceptions.MfaSecretNotFoundException;
+import com.eouil.bank.bankapi.exceptions.UserNotFoundException;
+import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.OtpReplayGuard;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+// MFA(TOTP) 시크릿 저장 / 검증
+// local 프로필이면 H2(users.mfa_secret), 아니면 Redis 해시 MFA:SECRETS 에 저장
+// 검증마다 저장소를 읽지 않도록 시크릿을 로컬 캐시에 두되, 평문 대신 프로세스별 임시 키로 AES-GCM 암호화해서 보관
+@Slf4j
+@Service
+public class MfaSecretService {
+    private static final String SECRETS_KEY = "MFA:SECRETS";
+    // 시크릿 변경 이벤트 채널 (다른 인스턴스 로컬 캐시 무효화용)
+    private static final String CHANGE_CHANNEL = "MFA:EVENTS";
+    private static final String USED_CODE_PREFIX = "OTP:";
+
+    private static final long STEP_MILLIS = 30_000;
+    // GoogleAuthenticator 기본 window(3) 와 같게 현재 step 앞뒤 1 step 허용
+    private static final int WINDOW_STEPS = 1;
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
+    // 프로필은 기동 시 한 번만 확인
+    private final boolean local;
+
+    private final ExpiringCache<String, byte[]> cache;
+    private final long cacheTtlMillis;
+    private final SecretKey cacheKey;
+    private final SecureRandom random = new SecureRandom();
+    private final OtpReplayGuard usedCodes = new OtpReplayGuard(WINDOW_STEPS * 2 + 3);
+
+    public MfaSecretService(UserRepository userRepository,
+                            RedisTemplate<String, String> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            Environment env,
+                            @Value("${custom.auth.mfa.cache-ttl-ms:600000}") long cacheTtlMillis,
+                            @Value("${custom.auth.mfa.cache-max-size:10000}") int cacheMaxSize) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.local = env.acceptsProfiles(Profiles.of("local"));
+        this.cache = new ExpiringCache<>(cacheMaxSize);
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.cacheKey = newCacheKey();
+    }
+
+    @PostConstruct
+    void subscribeChangeEvents() {
+        if (local) {
+            return;
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> cache.remove(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    // 새 시크릿 발급 + 저장 (기존 캐시는 모든 인스턴스에서 무효화)
+    public String createSecret(User user) {
+        String secret = gAuth.createCredentials().getKey();
+        if (local) {
+            saveSecretToH2(user, secret);
+        } else {
+            try {
+                redisTemplate.opsForHash().put(SECRETS_KEY, user.getEmail(), secret);
+            } catch (Exception e) {
+                log.warn("❗ Redis 저장 실패 → fallback to H2 저장: {}", e.getMessage());
+                saveSecretToH2(user, secret);
+            }
+        }
+        invalidate(user.getEmail());
+        return secret;
+    }
+
+    // 코드 검증 - 통과한 코드는 그 step 안에서 다시 받지 않음
+    public boolean verify(String email, int code) {
+        String secret = getSecret(email);
+        long currentStep = System.currentTimeMillis() / STEP_MILLIS;
+        for (long step = currentStep - WINDOW_STEPS; step <= currentStep + WINDOW_STEPS; step++) {
+            if (gAuth.getTotpPassword(secret, step * STEP_MILLIS) == code) {
+                return markUsed(email, step, code);
+            }
+        }
+        return false;
+    }
+
+    private boolean markUsed(String email, long step, int code) {
+        if (!usedCodes.markUsed(email + ":" + code, step)) {
+            log.warn("[MFA] 이미 사용된 코드 재시도 차단");
+            return false;
+        }
+        if (local) {
+            return true;
+        }
+        // 다른 인스턴스에서 쓴 코드도 막도록 Redis 에도 기록 (장애 시 로컬 기록만으로 판단)
+        try {
+            Boolean first = redisTemplate.opsForValue().setIfAbsent(USED_CODE_PREFIX + email + ":" + step + ":" + code, "1",
+                    Duration.ofMillis(STEP_MILLIS * (WINDOW_STEPS * 2 + 2)));
+            if (Boolean.FALSE.equals(first)) {
+                log.warn("[MFA] 다른 인스턴스에서 사용된 코드 재시도 차단");
+                return false;
+            }
+        } catch (Exception e) {
+            log.warn("[MFA] 사용 코드 Redis 기록 실패 → 로컬 기록만 사용: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    private String getSecret(String email) {
+        byte[] encrypted = cache.get(email);
+        if (encrypted != null) {
+            return decrypt(encrypted);
+        }
+        String secret = local ? getSecretFromH2(email) : getSecretFromRedis(email);
+        cache.put(email, encrypt(secret), System.currentTimeMillis() + cacheTtlMillis);
+        return secret;
+    }
+
+    private void invalidate(String email) {
+        cache.remove(email);
+        if (local) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, email);
+        } catch (Exception e) {
+            log.warn("[MFA] 시크릿 변경 이벤트 발행 실패 - 다른 인스턴스는 캐시 만료까지 이전 시크릿 사용: {}", e.getMessage());
+        }
+    }
+
+    private void saveSecretToH2(User user, String secret) {
+        User managed = userRepository.findByEmail(user.getEmail())
+                .orElseThrow(() -> new UserNotFoundException(user.getEmail()));
+        managed.setMfaSecret(secret);
+        userRepository.save(managed);
+    }
+
+    private String getSecretFromH2(String email) {
+        return userRepository.findByEmail(email)
+                .map(User::getMfaSecret)
+                .orElseThrow(() -> new MfaSecretNotFoundException("H2에서 " + email));
+    }
+
+    // Redis 저장 실패로 H2 에 들어간 시크릿도 찾도록 없으면 H2 확인
+    private String getSecretFromRedis(String email) {
+        Object secret = redisTemplate.opsForHash().get(SECRETS_KEY, email);
+        if (secret != null) {
+            return (String) secret;
+        }
+        return userRepository.findByEmail(email)
+                .map(User::getMfaSecret)
+                .orElseThrow(() -> new MfaSecretNotFoundException("Redis에서 " + email));
+    }
+
+    private static SecretKey newCacheKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("MFA 캐시 키 생성 실패", e);
+        }
+    }
+
+    // iv(12) + 암호문(태그 포함)
+    private byte[] encrypt(String secret) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("MFA 시크릿 암호화 실패", e);
+        }
+    }
+
+    private String decrypt(byte[] encrypted) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, cacheKey, new GCMParameterSpec(GCM_TAG_BITS, encrypted, 0, GCM_IV_BYTES));
+            byte[] plain = cipher.doFinal(encrypted, GCM_IV_BYTES, encrypted.length - GCM_IV_BYTES);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("MFA 시크릿 복호화 실패", e);
+        }
+    }
+}
@@ -1,40 +1,299 @@
 package com.eouil.bank.bankapi.services;
 
-import lombok.RequiredArgsConstructor;
+import com.eouil.bank.bankapi.concurrency.CircuitBreaker;
+import com.eouil.bank.bankapi.security.RevokedTokenBloomFilter;
+import com.eouil.bank.bankapi.utils.ExpiringCache;
+import com.eouil.bank.bankapi.utils.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+// 리프레시 토큰 / 액세스 토큰 블랙리스트 저장소
+// 요청 경로의 명령은 ReactiveStringRedisTemplate 으로 보내고 commandTimeout 까지만 기다림
+// Redis 가 연속으로 실패하면 서킷을 열고 로컬 저장소로 동작 (degraded), 그 동안 못 보낸 쓰기는 복구 후 재전송
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RedisTokenService {
+    private static final String REFRESH_PREFIX = "RT:";
+    private static final String BLACKLIST_PREFIX = "BL:";
+    // 블랙리스트 추가 이벤트 채널 (다른 인스턴스의 로컬 블룸 필터 동기화용)
+    private static final String BLACKLIST_CHANNEL = "BL:EVENTS";
+
+    private final ReactiveStringRedisTemplate reactiveRedis;
+    // 주기적인 블랙리스트 재동기화(SCAN) 전용 - 스케줄러 스레드에서만 사용
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtUtil jwtUtil;
+    private final RevokedTokenBloomFilter revokedTokens;
+    private final CircuitBreaker breaker;
+    private final Duration commandTimeout;
+
+    // degraded 모드에서 발급한 리프레시 토큰 (이 인스턴스에서만 유효)
+    private final ExpiringCache<String, String> localRefreshTokens;
+    // Redis 에 반영 못 한 블랙리스트 (tokenHash → 만료 시각) / 리프레시 토큰 삭제
+    private final Map<String, Long> pendingBlacklist = new ConcurrentHashMap<>();
+    private final Set<String> pendingRefreshDeletes = ConcurrentHashMap.newKeySet();
+
+    private final Counter fallbackCounter;
+
+    // Redis 와 한 번이라도 동기화되기 전에는 로컬 필터를 믿지 않고 항상 Redis 확인
+    private volatile boolean synced = false;
+
+    public RedisTokenService(ReactiveStringRedisTemplate reactiveRedis,
+                             RedisTemplate<String, String> redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             JwtUtil jwtUtil,
+                             MeterRegistry registry,
+                             @Value("${custom.auth.blacklist.bloom-bits:1048576}") int bloomBits,
+                             @Value("${custom.auth.blacklist.bloom-hashes:5}") int bloomHashes,
+                             @Value("${custom.auth.redis.command-timeout-ms:500}") long commandTimeoutMillis,
+                             @Value("${custom.auth.redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${custom.auth.redis.circuit-breaker.open-ms:10000}") long openMillis,
+                             @Value("${custom.auth.redis.local-store.max-size:100000}") int localStoreMaxSize) {
+        this.reactiveRedis = reactiveRedis;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.jwtUtil = jwtUtil;
+        // access token 수명 + 허용 skew 주기로 세대 교체
+        this.revokedTokens = new RevokedTokenBloomFilter(bloomBits, bloomHashes,
+                jwtUtil.getAccessTokenExpireMillis() + TimeUnit.MINUTES.toMillis(1));
+        this.breaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.commandTimeout = Duration.ofMillis(commandTimeoutMillis);
+        this.localRefreshTokens = new ExpiringCache<>(localStoreMaxSize);
+
+        this.fallbackCounter = Counter.builder("redis_token_fallback_total")
+                .description("Redis 장애 / 서킷 차단으로 로컬 저장소를 사용한 횟수")
+                .register(registry);
+        Gauge.builder("redis_token_circuit_open", breaker, b -> b.isClosed() ? 0 : 1)
+                .register(registry);
+        Gauge.builder("redis_token_pending_writes", this, s -> s.pendingBlacklist.size() + s.pendingRefreshDeletes.size())
+                .description("복구 후 Redis 로 재전송할 쓰기 수")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void subscribeBlacklistEvents() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> revokedTokens.add(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(BLACKLIST_CHANNEL));
+    }
 
     // 저장 (리프레시 토큰)
     public void saveRefreshToken(String username, String refreshToken, long expireTime) {
-        // Refresh Token
-        redisTemplate.opsForValue().set("RT:" + username, refreshToken, Duration.ofMillis(expireTime));
+        pendingRefreshDeletes.remove(username);
+        try {
+            await(reactiveRedis.opsForValue().set(REFRESH_PREFIX + username, refreshToken, Duration.ofMillis(expireTime)));
+            localRefreshTokens.remove(username);
+        } catch (RuntimeException e) {
+            degraded("saveRefreshToken", e);
+            localRefreshTokens.put(username, refreshToken, System.currentTimeMillis() + expireTime);
+        }
     }
 
-    // 조회
+    // 조회 - degraded 모드에서 발급한 토큰이 있으면 그게 최신
     public String getRefreshToken(String username) {
-        return redisTemplate.opsForValue().get("RT:" + username);
+        if (pendingRefreshDeletes.contains(username)) {
+            return null;
+        }
+        String local = localRefreshTokens.get(username);
+        if (local != null) {
+            return local;
+        }
+        try {
+            return await(reactiveRedis.opsForValue().get(REFRESH_PREFIX + username));
+        } catch (RuntimeException e) {
+            degraded("getRefreshToken", e);
+            return null;
+        }
     }
 
-    // 삭제
-    public void deleteRefreshToken(String username) {
-        redisTemplate.delete("RT:" + username);
-    }
+    // 로그아웃 - RT 삭제 / BL 등록 / 이벤트 발행을 한 번에 보내서 Redis 왕복 한 번으로 처리
+    public void revoke(String username, String accessToken, long expireTime) {
+        String tokenHash = jwtUtil.tokenHash(accessToken);
+        localRefreshTokens.remove(username);
+        revokedTokens.add(tokenHash);
 
-    // 블랙리스트 등록 (AccessToken)
-    public void addToBlacklist(String accessToken, long expireTime) {
-        // BlackList Token
-        redisTemplate.opsForValue().set("BL:" + accessToken, "logout", Duration.ofMillis(expireTime));
+        List<Mono<?>> commands = new ArrayList<>(3);
+        commands.add(reactiveRedis.delete(REFRESH_PREFIX + username));
+        // 이미 만료된 토큰은 블랙리스트에 올릴 필요 없음 (TTL 0 은 Redis 가 거부)
+        if (expireTime > 0) {
+            commands.add(reactiveRedis.opsForValue().set(BLACKLIST_PREFIX + tokenHash, "logout", Duration.ofMillis(expireTime)));
+            commands.add(reactiveRedis.convertAndSend(BLACKLIST_CHANNEL, tokenHash));
+        }
+        try {
+            // Mono.when 은 모든 명령을 한꺼번에 구독 → 같은 커넥션에 응답을 기다리지 않고 연달아 기록됨
+            await(Mono.when(commands));
+        } catch (RuntimeException e) {
+            degraded("revoke", e);
+            pendingRefreshDeletes.add(username);
+            if (expireTime > 0) {
+                pendingBlacklist.put(tokenHash, System.currentTimeMillis() + expireTime);
+            }
+        }
     }
 
-    // 블랙리스트 조회
+    // 블랙리스트 조회 - 로컬 필터에서 확실히 없으면 Redis 왕복 생략
     public boolean isBlacklisted(String accessToken) {
-        return redisTemplate.hasKey("BL:" + accessToken);
+        if (accessToken == null) {
+            return false;
+        }
+        String tokenHash = jwtUtil.tokenHash(accessToken);
+        // 아직 Redis 에 못 올린 블랙리스트는 Redis 가 돌아와도 로컬 기준
+        if (pendingBlacklist.containsKey(tokenHash)) {
+            return true;
+        }
+        if (synced && !revokedTokens.mightContain(tokenHash)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(await(reactiveRedis.hasKey(BLACKLIST_PREFIX + tokenHash)));
+        } catch (RuntimeException e) {
+            degraded("isBlacklisted", e);
+            // 확인할 수 없으면 로컬 필터 기준으로 차단 쪽으로 판단 (오탐이면 재로그인)
+            return revokedTokens.mightContain(tokenHash);
+        }
+    }
+
+    // pub/sub 메시지를 놓친 경우 대비 - 주기적으로 Redis 블랙리스트 키를 다시 읽어 필터 보정
+    @Scheduled(fixedDelayString = "${custom.auth.blacklist.resync-ms:60000}")
+    public void resyncBlacklist() {
+        if (!replayPendingWrites()) {
+            synced = false;
+            return;
+        }
+        int count = 0;
+        int skipped = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                // 키 하나가 실패해도 나머지는 계속 반영 (실패한 예전 형식 키는 남아 있으므로 다음 주기에 재시도)
+                try {
+                    String tokenHash = toTokenHash(key);
+                    revokedTokens.add(tokenHash);
+                    if (isLegacyKey(key)) {
+                        migrateLegacyKey(key, tokenHash);
+                    }
+                    count++;
+                } catch (RuntimeException e) {
+                    skipped++;
+                    log.debug("[BLACKLIST] 키 동기화 실패: {}", e.getMessage());
+                }
+            }
+            synced = true;
+            if (skipped > 0) {
+                log.warn("[BLACKLIST] 로컬 필터 동기화 완료 - {}건, 실패 {}건", count, skipped);
+            } else {
+                log.debug("[BLACKLIST] 로컬 필터 동기화 완료 - {}건", count);
+            }
+        } catch (Exception e) {
+            synced = false;
+            log.warn("[BLACKLIST] 로컬 필터 동기화 실패 → Redis 직접 조회로 동작: {}", e.getMessage());
+        }
+    }
+
+    // degraded 모드 동안 쌓인 쓰기를 Redis 로 재전송 - 전부 반영됐으면 true
+    private boolean replayPendingWrites() {
+        if (pendingBlacklist.isEmpty() && pendingRefreshDeletes.isEmpty()) {
+            return breaker.isClosed() || breaker.tryAcquire() && probe();
+        }
+        long now = System.currentTimeMillis();
+        pendingBlacklist.entrySet().removeIf(e -> e.getValue() <= now);
+
+        List<Mono<?>> commands = new ArrayList<>();
+        Map<String, Long> blacklist = Map.copyOf(pendingBlacklist);
+        List<String> refreshDeletes = List.copyOf(pendingRefreshDeletes);
+        blacklist.forEach((tokenHash, expiresAt) -> {
+            commands.add(reactiveRedis.opsForValue().set(BLACKLIST_PREFIX + tokenHash, "logout", Duration.ofMillis(Math.max(1, expiresAt - now))));
+            commands.add(reactiveRedis.convertAndSend(BLACKLIST_CHANNEL, tokenHash));
+        });
+        refreshDeletes.forEach(username -> commands.add(reactiveRedis.delete(REFRESH_PREFIX + username)));
+        try {
+            await(Mono.when(commands), commandTimeout.multipliedBy(4));
+        } catch (RuntimeException e) {
+            log.warn("[REDIS] 미반영 쓰기 재전송 실패 - {}건 대기: {}", commands.size(), e.getMessage());
+            return false;
+        }
+        blacklist.forEach(pendingBlacklist::remove);
+        refreshDeletes.forEach(pendingRefreshDeletes::remove);
+        log.info("[REDIS] 복구 - 미반영 블랙리스트 {}건 / 리프레시 토큰 삭제 {}건 재전송", blacklist.size(), refreshDeletes.size());
+        return true;
+    }
+
+    // 서킷이 열려 있을 때 시험 호출 (HALF_OPEN 상태에서만 불림)
+    private boolean probe() {
+        try {
+            reactiveRedis.hasKey(BLACKLIST_CHANNEL).timeout(commandTimeout).block();
+            breaker.onSuccess();
+            return true;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            return false;
+        }
+    }
+
+    private <T> T await(Mono<T> command) {
+        return await(command, commandTimeout);
+    }
+
+    // 서킷이 열려 있으면 Redis 로 보내지 않고 바로 실패, 응답은 timeout 까지만 기다림
+    private <T> T await(Mono<T> command, Duration timeout) {
+        if (!breaker.tryAcquire()) {
+            throw new RedisConnectionFailureException("Redis circuit open");
+        }
+        try {
+            T result = command.timeout(timeout).block();
+            breaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            throw e;
+        }
+    }
+
+    private void degraded(String operation, RuntimeException e) {
+        fallbackCounter.increment();
+        log.warn("[REDIS] {} 실패 → 로컬 저장소로 처리 (circuit: {}): {}", operation, breaker.state(), e.getMessage());
+    }
+
+    // 키에서 토큰 해시 추출 (예전 형식 BL:<토큰 원문> 은 원문을 해시)
+    private String toTokenHash(String key) {
+        String value = key.substring(BLACKLIST_PREFIX.length());
+        return isLegacyKey(key) ? jwtUtil.tokenHash(value) : value;
+    }
+
+    private boolean isLegacyKey(String key) {
+        return key.indexOf('.', BLACKLIST_PREFIX.length()) >= 0;
+    }
+
+    // 예전 형식 키는 남은 TTL 그대로 해시 키로 옮김
+    private void migrateLegacyKey(String key, String tokenHash) {
+        Long ttlMillis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        if (ttlMillis != null && ttlMillis > 0) {
+            redisTemplate.opsForValue().set(BLACKLIST_PREFIX + tokenHash, "logout", Duration.ofMillis(ttlMillis));
+        }
+        redisTemplate.delete(key);
     }
-}
\ No newline at end of file
+}
@@ -1,195 +1,497 @@
 package com.eouil.bank.bankapi.services;
 
+import com.eouil.bank.bankapi.concurrency.AccountLockManager;
+import com.eouil.bank.bankapi.concurrency.DeadlockRetryExecutor;
+import com.eouil.bank.bankapi.concurrency.GroupCommitExecutor;
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
 import com.eouil.bank.bankapi.domains.*;
+import com.eouil.bank.bankapi.dtos.requests.BulkTransferLegDTO;
+import com.eouil.bank.bankapi.dtos.requests.BulkTransferRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.DepositRequestDTO;
+import com.eouil.bank.bankapi.dtos.requests.TransactionHistorySearchRequest;
 import com.eouil.bank.bankapi.dtos.requests.TransferRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.dtos.responses.BulkTransferLegResultDTO;
+import com.eouil.bank.bankapi.dtos.responses.BulkTransferResponseDTO;
+import com.eouil.bank.bankapi.dtos.responses.TransactionPageResponse;
 import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
 import com.eouil.bank.bankapi.repositories.AccountRepository;
+import com.eouil.bank.bankapi.repositories.TransactionCursor;
 import com.eouil.bank.bankapi.repositories.TransactionJdbcRepository;
-import com.eouil.bank.bankapi.repositories.TransactionRepository;
+import com.eouil.bank.bankapi.repositories.TransactionQueryRepository;
 import com.eouil.bank.bankapi.repositories.UserRepository;
-import com.eouil.bank.bankapi.utils.JwtUtil;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
+    private final AccountJdbcRepository accountJdbcRepository;
     private final TransactionJdbcRepository transactionRepository;
-    private final TransactionRepository transactionJPARepository;
-    private final JwtUtil jwtUtil;
+    private final TransactionQueryRepository transactionQueryRepository;
     private final AlertService alertService;
+    private final DeadlockRetryExecutor deadlockRetryExecutor;
+    private final GroupCommitExecutor groupCommitExecutor;
+    private final AccountLockManager accountLockManager;
+    private final HotAccountRegistry hotAccountRegistry;
+    private final AccountSummaryCache accountSummaryCache;
+
+    @Value("${custom.transaction.bulk.max-legs:5000}")
+    private int maxBulkLegs;
 
-    @Transactional
-    public TransactionResponseDTO transfer(TransferRequestDTO request, String token) {
-        String userId = jwtUtil.validateTokenAndGetUserId(token);
+    public TransactionResponseDTO transfer(TransferRequestDTO request, AuthenticatedUser user) {
+        String userId = user.getUserId();
         log.info("[TRANSFER] 요청 - 사용자: {}, 출금계좌: {}, 입금계좌: {}, 금액: {}", userId, request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // 커넥션을 빌리기 전에 JVM 내 계좌 락을 먼저 잡고, 데드락 / 락 타임아웃 시 트랜잭션 단위로 재시도
+        // 버킷 계좌로의 입금은 버킷 행만 잠그므로 입금 계좌 쪽은 줄 세우지 않음
+        // 그룹 커밋이 켜져 있으면 다른 요청과 한 트랜잭션으로 묶여 커밋됨
+        String to = request.getToAccountNumber();
+        LedgerEntry entry = accountLockManager.withLocks(
+                () -> groupCommitExecutor.execute(() -> doTransfer(request, userId)),
+                request.getFromAccountNumber(), hotAccountRegistry.isBucketed(to) ? null : to);
 
-        Account fromAccount = accountRepository.findByAccountNumberForUpdate(request.getFromAccountNumber());
-        Account toAccount = accountRepository.findByAccountNumberForUpdate(request.getToAccountNumber());
+        log.info("[TRANSFER] 완료 - 트랜잭션 ID: {}", entry.getTransactionId());
+        return buildResponse(entry);
+    }
 
-        if (!fromAccount.getUser().getUserId().equals(user.getUserId())) {
-            log.warn("[TRANSFER] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, fromAccount.getAccountNumber());
-            throw new SecurityException("Unauthorized access to account");
+    private LedgerEntry doTransfer(TransferRequestDTO request, String userId) {
+        String from = request.getFromAccountNumber();
+        String to = request.getToAccountNumber();
+        if (Objects.equals(from, to)) {
+            throw new RuntimeException("Cannot transfer to the same account");
         }
-
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            log.warn("[TRANSFER] 잔액 부족 - 계좌 {}, 잔액 {}, 요청금액 {}", fromAccount.getAccountNumber(), fromAccount.getBalance(), request.getAmount());
-            throw new RuntimeException("Insufficient funds");
+        accountSummaryCache.evictAccountsAfterCommit(from, to);
+
+        int toBuckets = hotAccountRegistry.bucketCount(to);
+        if (toBuckets > 0) {
+            // 버킷 계좌: 출금 후 입금은 임의의 버킷 행에 (입금 계좌 행은 잠그지 않음)
+            if (!debit(from, userId, request.getAmount())) {
+                throw debitFailure("TRANSFER", from, userId, request.getAmount());
+            }
+            creditBucketed(to, toBuckets, request.getAmount());
+        } else if (!accountJdbcRepository.transfer(from, to, userId, request.getAmount())) {
+            // 출금/입금 두 계좌를 조건부 UPDATE 한 문장으로 갱신 (계좌번호 순서로 row lock)
+            // 실패하면 입금 계좌가 없거나, 출금 조건만 어긋나 입금 계좌 행은 이미 반영된 상태
+            if (accountJdbcRepository.findSnapshot(to).isEmpty()) {
+                if (accountJdbcRepository.findSnapshot(from).isPresent()) {
+                    throw new RuntimeException("To Account not found");
+                }
+                throw debitFailure("TRANSFER", from, userId, request.getAmount());
+            }
+            // 버킷 잔액을 모아 출금만 다시 시도 (이체를 다시 하면 입금이 두 번 반영됨), 실패 시 예외로 입금도 롤백
+            if (!(sweepIfBucketed(from) && accountJdbcRepository.debit(from, userId, request.getAmount()))) {
+                throw debitFailure("TRANSFER", from, userId, request.getAmount());
+            }
         }
 
-        fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
-
-        Transaction tx = Transaction.builder()
-                .fromAccount(fromAccount)
-                .toAccount(toAccount)
+        LedgerEntry entry = LedgerEntry.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
                 .type(TransactionType.TRANSFER)
                 .amount(request.getAmount())
                 .memo(request.getMemo())
                 .status(TransactionStatus.COMPLETED)
-                .balanceAfter(fromAccount.getBalance())
+                .balanceAfter(accountJdbcRepository.findBalance(from))
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        transactionRepository.save(tx);
-        log.info("[TRANSFER] 완료 - 트랜잭션 ID: {}", tx.getTransactionId());
-
-        return buildResponse(tx);
+        transactionRepository.save(entry);
+        return entry;
     }
 
-    @Transactional
-    public TransactionResponseDTO withdraw(WithdrawRequestDTO request, String token) {
-        String userId = jwtUtil.validateTokenAndGetUserId(token);
-        log.info("[WITHDRAW] 요청 - 사용자: {}, 출금계좌: {}, 금액: {}", userId, request.getFromAccountNumber(), request.getAmount());
+    // 일괄 이체: 소유권 확인 / 출금 계좌 락 / 잔액 차감은 한 번, 입금과 원장 기록은 batch 로 처리
+    public BulkTransferResponseDTO bulkTransfer(BulkTransferRequestDTO request, AuthenticatedUser user) {
+        String userId = user.getUserId();
+        String from = request.getFromAccountNumber();
+        List<BulkTransferLegDTO> legs = request.getLegs() != null ? request.getLegs() : List.of();
+        BulkTransferMode mode = request.getMode() != null ? request.getMode() : BulkTransferMode.ALL_OR_NOTHING;
+        log.info("[BULK TRANSFER] 요청 - 사용자: {}, 출금계좌: {}, 건수: {}, 모드: {}", userId, from, legs.size(), mode);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (legs.isEmpty()) {
+            throw new RuntimeException("No transfer legs");
+        }
+        if (legs.size() > maxBulkLegs) {
+            throw new RuntimeException("Too many transfer legs (max " + maxBulkLegs + ")");
+        }
+
+        // JVM 락은 출금 계좌만 (입금 계좌 수천 개를 잡으면 모든 스트라이프를 점유함) - 입금 계좌는 DB row lock 으로 보호
+        BulkTransferResponseDTO response = accountLockManager.withLocks(
+                () -> deadlockRetryExecutor.execute(() -> doBulkTransfer(from, legs, mode, userId)),
+                from);
 
-        Account fromAccount = accountRepository.findByAccountNumberForUpdate(request.getFromAccountNumber());
+        log.info("[BULK TRANSFER] 완료 - 성공: {}, 실패: {}, 총액: {}",
+                response.getCompletedCount(), response.getFailedCount(), response.getTotalAmount());
+        return response;
+    }
 
-        if (!fromAccount.getUser().getUserId().equals(user.getUserId())) {
-            log.warn("[WITHDRAW] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, fromAccount.getAccountNumber());
+    private BulkTransferResponseDTO doBulkTransfer(String from, List<BulkTransferLegDTO> legs, BulkTransferMode mode, String userId) {
+        // 출금 + 입금 계좌 전부를 계좌번호 순서로 잠금 (단건 이체와 같은 순서 → 데드락 방지)
+        SortedSet<String> accountNumbers = new TreeSet<>();
+        accountNumbers.add(from);
+        legs.stream()
+                .map(BulkTransferLegDTO::getToAccountNumber)
+                .filter(Objects::nonNull)
+                .forEach(accountNumbers::add);
+        Map<String, Account> locked = lockAccounts(accountNumbers);
+        accountSummaryCache.evictAccountsAfterCommit(accountNumbers.toArray(String[]::new));
+
+        Account source = locked.get(from);
+        if (source == null) {
+            throw new RuntimeException("From Account not found");
+        }
+        if (!source.getUser().getUserId().equals(userId)) {
+            log.warn("[BULK TRANSFER] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, from);
             throw new SecurityException("Unauthorized access to account");
         }
+        // 출금 계좌가 버킷 계좌면 버킷 잔액을 먼저 계좌 행으로 모음
+        BigDecimal sourceBalance = source.getBucketCount() > 0
+                ? source.getBalance().add(accountJdbcRepository.sweepBuckets(from))
+                : source.getBalance();
+
+        // 요청 순서대로 잔액을 차감해 보며 건별 실패 사유 결정
+        String[] failures = new String[legs.size()];
+        boolean anyFailed = false;
+        BigDecimal remaining = sourceBalance;
+        for (int i = 0; i < legs.size(); i++) {
+            BulkTransferLegDTO leg = legs.get(i);
+            String failure = validateLeg(from, leg, locked);
+            if (failure == null && remaining.compareTo(leg.getAmount()) < 0) {
+                failure = "Insufficient funds";
+            }
+            if (failure != null) {
+                failures[i] = failure;
+                anyFailed = true;
+                continue;
+            }
+            remaining = remaining.subtract(leg.getAmount());
+        }
+
+        if (anyFailed && mode == BulkTransferMode.ALL_OR_NOTHING) {
+            log.warn("[BULK TRANSFER] 실패 건 존재 → 전체 미반영 - 출금계좌: {}", from);
+            return buildBulkResponse(from, mode, legs, failures, List.of(), BigDecimal.ZERO, sourceBalance, true);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal running = sourceBalance;
+        BigDecimal total = BigDecimal.ZERO;
+        Map<String, BigDecimal> credits = new TreeMap<>();
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int i = 0; i < legs.size(); i++) {
+            if (failures[i] != null) {
+                continue;
+            }
+            BulkTransferLegDTO leg = legs.get(i);
+            running = running.subtract(leg.getAmount());
+            total = total.add(leg.getAmount());
+            credits.merge(leg.getToAccountNumber(), leg.getAmount(), BigDecimal::add);
+            entries.add(LedgerEntry.builder()
+                    .fromAccountNumber(from)
+                    .toAccountNumber(leg.getToAccountNumber())
+                    .type(TransactionType.TRANSFER)
+                    .amount(leg.getAmount())
+                    .memo(leg.getMemo())
+                    .status(TransactionStatus.COMPLETED)
+                    .balanceAfter(running)
+                    .createdAt(now)
+                    .build());
+        }
+
+        if (!entries.isEmpty()) {
+            // 행 락을 잡은 상태라 정상이면 실패하지 않음 (조건부 UPDATE 는 안전장치)
+            if (!accountJdbcRepository.debit(from, userId, total)) {
+                throw debitFailure("BULK TRANSFER", from, userId, total);
+            }
+            accountJdbcRepository.creditAll(credits);
+            transactionRepository.saveAll(entries);
+        }
+
+        return buildBulkResponse(from, mode, legs, failures, entries, total, running, false);
+    }
+
+    private String validateLeg(String from, BulkTransferLegDTO leg, Map<String, Account> locked) {
+        if (leg.getAmount() == null || leg.getAmount().signum() <= 0) {
+            return "Invalid amount";
+        }
+        if (Objects.equals(from, leg.getToAccountNumber())) {
+            return "Cannot transfer to the same account";
+        }
+        if (leg.getToAccountNumber() == null || !locked.containsKey(leg.getToAccountNumber())) {
+            return "To Account not found";
+        }
+        return null;
+    }
+
+    // IN 절이 너무 길어지지 않게 나눠서 잠금 (정렬된 순서를 유지하므로 락 순서는 그대로)
+    private Map<String, Account> lockAccounts(SortedSet<String> accountNumbers) {
+        List<String> sorted = new ArrayList<>(accountNumbers);
+        Map<String, Account> locked = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i += LOCK_CHUNK_SIZE) {
+            List<String> chunk = sorted.subList(i, Math.min(i + LOCK_CHUNK_SIZE, sorted.size()));
+            for (Account account : accountRepository.findAllByAccountNumberInForUpdate(chunk)) {
+                locked.put(account.getAccountNumber(), account);
+            }
+        }
+        return locked;
+    }
+
+    private BulkTransferResponseDTO buildBulkResponse(String from, BulkTransferMode mode, List<BulkTransferLegDTO> legs,
+                                                      String[] failures, List<LedgerEntry> entries,
+                                                      BigDecimal total, BigDecimal balanceAfter, boolean rolledBack) {
+        List<BulkTransferLegResultDTO> results = new ArrayList<>(legs.size());
+        Iterator<LedgerEntry> completed = entries.iterator();
+        int failedCount = 0;
+        for (int i = 0; i < legs.size(); i++) {
+            BulkTransferLegDTO leg = legs.get(i);
+            BulkTransferLegResultDTO.BulkTransferLegResultDTOBuilder result = BulkTransferLegResultDTO.builder()
+                    .index(i)
+                    .toAccountNumber(leg.getToAccountNumber())
+                    .amount(leg.getAmount());
+            if (failures[i] != null) {
+                failedCount++;
+                result.status("FAILED").reason(failures[i]);
+            } else if (rolledBack) {
+                result.status("SKIPPED").reason("Not applied because another leg failed");
+            } else {
+                result.status(TransactionStatus.COMPLETED.name()).transactionID(completed.next().getTransactionId());
+            }
+            results.add(result.build());
+        }
 
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            log.warn("[WITHDRAW] 잔액 부족 - 계좌 {}, 잔액 {}, 요청금액 {}", fromAccount.getAccountNumber(), fromAccount.getBalance(), request.getAmount());
-            throw new RuntimeException("Insufficient funds");
+        return BulkTransferResponseDTO.builder()
+                .fromAccountNumber(from)
+                .mode(mode.name())
+                .requestedCount(legs.size())
+                .completedCount(entries.size())
+                .failedCount(failedCount)
+                .totalAmount(total)
+                .balanceAfter(balanceAfter)
+                .results(results)
+                .build();
+    }
+
+    public TransactionResponseDTO withdraw(WithdrawRequestDTO request, AuthenticatedUser user) {
+        String userId = user.getUserId();
+        log.info("[WITHDRAW] 요청 - 사용자: {}, 출금계좌: {}, 금액: {}", userId, request.getFromAccountNumber(), request.getAmount());
+
+        LedgerEntry entry = accountLockManager.withLocks(
+                () -> groupCommitExecutor.execute(() -> doWithdraw(request, user)),
+                request.getFromAccountNumber());
+
+        log.info("[WITHDRAW] 완료 - 트랜잭션 ID: {}", entry.getTransactionId());
+        return buildResponse(entry);
+    }
+
+    private LedgerEntry doWithdraw(WithdrawRequestDTO request, AuthenticatedUser user) {
+        String from = request.getFromAccountNumber();
+        accountSummaryCache.evictAccountsAfterCommit(from);
+        if (!debit(from, user.getUserId(), request.getAmount())) {
+            throw debitFailure("WITHDRAW", from, user.getUserId(), request.getAmount());
         }
+        BigDecimal balanceAfter = accountJdbcRepository.findBalance(from);
 
-        // 이상 금액 감지
+        // 이상 금액 감지 (출금 전 잔액 기준)
         BigDecimal limit = new BigDecimal("1000000"); // 100만원 기준
-        if (fromAccount.getBalance().compareTo(limit) >= 0) {
-            log.warn("[WITHDRAW] 알림 - 계좌 {}에서 {} 이상의 큰 출금을 시도",fromAccount.getAccountNumber(), limit);
-            alertService.sendSuspiciousWithdrawalEmail(
-                    user.getEmail(), // 로그인 유저 이메일
-                    fromAccount.getAccountNumber(),
+        if (balanceAfter.add(request.getAmount()).compareTo(limit) >= 0) {
+            log.warn("[WITHDRAW] 알림 - 계좌 {}에서 {} 이상의 큰 출금을 시도", from, limit);
+            // 메일은 커밋 후 비동기로 발송 (락 / 커넥션 잡은 채 SES 호출하지 않도록 outbox 기록만)
+            alertService.recordSuspiciousWithdrawal(
+                    resolveEmail(user), // 로그인 유저 이메일
+                    from,
                     request.getAmount()
             );
         }
 
-        fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        accountRepository.save(fromAccount);
-
-        Transaction tx = Transaction.builder()
-                .fromAccount(fromAccount)
+        LedgerEntry entry = LedgerEntry.builder()
+                .fromAccountNumber(from)
                 .type(TransactionType.WITHDRAWAL)
                 .amount(request.getAmount())
                 .memo(request.getMemo())
                 .status(TransactionStatus.COMPLETED)
-                .balanceAfter(fromAccount.getBalance())
+                .balanceAfter(balanceAfter)
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        transactionRepository.save(tx);
-        log.info("[WITHDRAW] 완료 - 트랜잭션 ID: {}", tx.getTransactionId());
-
-        return buildResponse(tx);
+        transactionRepository.save(entry);
+        return entry;
     }
 
-    @Transactional
-    public TransactionResponseDTO deposit(DepositRequestDTO request, String token) {
-        String userId = jwtUtil.validateTokenAndGetUserId(token);
+    public TransactionResponseDTO deposit(DepositRequestDTO request, AuthenticatedUser user) {
+        String userId = user.getUserId();
         log.info("[DEPOSIT] 요청 - 사용자: {}, 입금계좌: {}, 금액: {}", userId, request.getToAccountNumber(), request.getAmount());
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // 버킷 계좌 입금은 JVM 락 없이 바로 (버킷 행끼리는 경합하지 않음)
+        String to = request.getToAccountNumber();
+        LedgerEntry entry = hotAccountRegistry.isBucketed(to)
+                ? groupCommitExecutor.execute(() -> doDeposit(request, userId))
+                : accountLockManager.withLocks(() -> groupCommitExecutor.execute(() -> doDeposit(request, userId)), to);
 
-        Account toAccount = accountRepository.findByAccountNumberForUpdate(request.getToAccountNumber());
+        log.info("[DEPOSIT] 완료 - 트랜잭션 ID: {}", entry.getTransactionId());
+        return buildResponse(entry);
+    }
 
-        if (!toAccount.getUser().getUserId().equals(user.getUserId())) {
-            log.warn("[DEPOSIT] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, toAccount.getAccountNumber());
+    private LedgerEntry doDeposit(DepositRequestDTO request, String userId) {
+        String to = request.getToAccountNumber();
+        accountSummaryCache.evictAccountsAfterCommit(to);
+        int buckets = hotAccountRegistry.bucketCount(to);
+        if (buckets > 0) {
+            // 소유자 확인은 잠금 없는 읽기로 하고 버킷 행만 갱신
+            Optional<AccountJdbcRepository.AccountSnapshot> snapshot = accountJdbcRepository.findSnapshot(to);
+            if (snapshot.isEmpty()) {
+                throw new RuntimeException("To Account not found");
+            }
+            if (!snapshot.get().getUserId().equals(userId)) {
+                log.warn("[DEPOSIT] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, to);
+                throw new SecurityException("Unauthorized access to account");
+            }
+            creditBucketed(to, buckets, request.getAmount());
+        } else if (!accountJdbcRepository.credit(to, userId, request.getAmount())) {
+            if (accountJdbcRepository.findSnapshot(to).isEmpty()) {
+                throw new RuntimeException("To Account not found");
+            }
+            log.warn("[DEPOSIT] 인증 실패 - 사용자 {}가 계좌 {}에 접근", userId, to);
             throw new SecurityException("Unauthorized access to account");
         }
 
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-        accountRepository.save(toAccount);
-
-        Transaction tx = Transaction.builder()
-                .toAccount(toAccount)
+        LedgerEntry entry = LedgerEntry.builder()
+                .toAccountNumber(to)
                 .type(TransactionType.DEPOSIT)
                 .amount(request.getAmount())
                 .memo(request.getMemo())
                 .status(TransactionStatus.COMPLETED)
-                .balanceAfter(toAccount.getBalance())
+                .balanceAfter(accountJdbcRepository.findBalance(to))
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        transactionRepository.save(tx);
-        log.info("[DEPOSIT] 완료 - 트랜잭션 ID: {}", tx.getTransactionId());
+        transactionRepository.save(entry);
+        return entry;
+    }
 
-        return buildResponse(tx);
+    // 계좌 행 잔액이 모자라면 버킷 잔액을 모은 뒤 한 번 더 시도
+    private boolean debit(String accountNumber, String userId, BigDecimal amount) {
+        return accountJdbcRepository.debit(accountNumber, userId, amount)
+                || (sweepIfBucketed(accountNumber) && accountJdbcRepository.debit(accountNumber, userId, amount));
     }
 
-    public List<TransactionResponseDTO> getTransactions(String token) {
-        String userId = jwtUtil.validateTokenAndGetUserId(token);
-        log.info("[GET TRANSACTIONS] 요청 - 사용자: {}", userId);
+    // 실패 처리 직전에는 인스턴스별 캐시 대신 DB 버킷 행을 직접 확인 (버킷 행이 없는 계좌는 빈 조회 한 번)
+    // 캐시가 늦어 버킷을 못 본 경우 다음 요청부터 버킷 입금을 쓰도록 캐시도 무효화
+    private boolean sweepIfBucketed(String accountNumber) {
+        if (accountJdbcRepository.sweepBuckets(accountNumber).signum() <= 0) {
+            return false;
+        }
+        if (!hotAccountRegistry.isBucketed(accountNumber)) {
+            hotAccountRegistry.invalidate(accountNumber);
+        }
+        return true;
+    }
 
-        User user = userRepository.findById(userId)
+    private void creditBucketed(String accountNumber, int buckets, BigDecimal amount) {
+        if (!accountJdbcRepository.creditBucket(accountNumber, hotAccountRegistry.pickBucket(buckets), amount)
+                && !accountJdbcRepository.credit(accountNumber, amount)) {
+            throw new RuntimeException("To Account not found");
+        }
+    }
+
+    // 이메일 claim 이 없는 예전 토큰일 때만 DB 조회
+    private String resolveEmail(AuthenticatedUser user) {
+        if (user.getEmail() != null) {
+            return user.getEmail();
+        }
+        return userRepository.findById(user.getUserId())
+                .map(User::getEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 
-        List<Account> accounts = accountRepository.findByUser(user);
-        List<Transaction> allTransactions = new ArrayList<>();
-        for (Account ac : accounts) {
-            allTransactions.addAll(transactionJPARepository.findByAccountNumber(ac.getAccountNumber()));
+    // 조건부 출금 UPDATE가 0건일 때만 원인 확인 (정상 경로에서는 추가 조회 없음)
+    private RuntimeException debitFailure(String tag, String accountNumber, String userId, BigDecimal amount) {
+        Optional<AccountJdbcRepository.AccountSnapshot> snapshot = accountJdbcRepository.findSnapshot(accountNumber);
+        if (snapshot.isEmpty()) {
+            return new RuntimeException("From Account not found");
+        }
+        if (!snapshot.get().getUserId().equals(userId)) {
+            log.warn("[{}] 인증 실패 - 사용자 {}가 계좌 {}에 접근", tag, userId, accountNumber);
+            return new SecurityException("Unauthorized access to account");
         }
+        log.warn("[{}] 잔액 부족 - 계좌 {}, 잔액 {}, 요청금액 {}", tag, accountNumber, snapshot.get().getBalance(), amount);
+        return new RuntimeException("Insufficient funds");
+    }
+
+    public List<TransactionResponseDTO> getTransactions(AuthenticatedUser user) {
+        String userId = user.getUserId();
+        log.info("[GET TRANSACTIONS] 요청 - 사용자: {}", userId);
+
+        // 계좌별 엔티티 조회 + 연관 계좌 로딩 대신 응답 컬럼만 한 번에 조회
+        List<TransactionResponseDTO> transactions = transactionQueryRepository.findAll(userId);
+
+        log.info("[GET TRANSACTIONS] 완료 - 총 트랜잭션 수: {}", transactions.size());
+        return transactions;
+    }
+
+    // 커서 기반 거래내역 조회 (사용자 전체 계좌를 한 쿼리로)
+    public TransactionPageResponse getTransactionHistory(AuthenticatedUser user, TransactionHistorySearchRequest search) {
+        int size = search.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(search.getSize(), MAX_PAGE_SIZE));
+        TransactionCursor cursor = search.getCursor() == null || search.getCursor().isBlank()
+                ? null : TransactionCursor.decode(search.getCursor());
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+        List<TransactionResponseDTO> rows = transactionQueryRepository.findPage(user.getUserId(), search, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TransactionResponseDTO> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getTransactionID()).encode();
+        }
+
+        log.info("[GET TRANSACTION HISTORY] 완료 - 사용자: {}, 조회 건수: {}, 다음 페이지: {}", user.getUserId(), page.size(), hasNext);
+        return new TransactionPageResponse(page, nextCursor, hasNext);
+    }
 
-        log.info("[GET TRANSACTIONS] 완료 - 총 트랜잭션 수: {}", allTransactions.size());
-        return allTransactions.stream()
-                .map(this::buildResponse)
-                .collect(Collectors.toList());
+    // 거래내역 스트리밍 (DB 커서에서 읽는 대로 consumer 로 전달 → 메모리 사용량 일정)
+    public void streamTransactionHistory(AuthenticatedUser user, TransactionHistorySearchRequest search,
+                                         Consumer<TransactionResponseDTO> consumer) {
+        log.info("[STREAM TRANSACTION HISTORY] 요청 - 사용자: {}", user.getUserId());
+        transactionQueryRepository.stream(user.getUserId(), search, consumer);
     }
 
-    private TransactionResponseDTO buildResponse(Transaction tx) {
+    private TransactionResponseDTO buildResponse(LedgerEntry entry) {
         return TransactionResponseDTO.builder()
-                .transactionID(tx.getTransactionId())
-                .fromAccountNumber(tx.getFromAccount() != null ? tx.getFromAccount().getAccountNumber() : null)
-                .toAccountNumber(tx.getToAccount() != null ? tx.getToAccount().getAccountNumber() : null)
-                .type(tx.getType().name())
-                .amount(tx.getAmount())
-                .memo(tx.getMemo())
-                .status(tx.getStatus().name())
-                .balanceAfter(tx.getBalanceAfter())
-                .createdAt(tx.getCreatedAt())
+                .transactionID(entry.getTransactionId())
+                .fromAccountNumber(entry.getFromAccountNumber())
+                .toAccountNumber(entry.getToAccountNumber())
+                .type(entry.getType().name())
+                .amount(entry.getAmount())
+                .memo(entry.getMemo())
+                .status(entry.getStatus().name())
+                .balanceAfter(entry.getBalanceAfter())
+                .createdAt(entry.getCreatedAt())
                 .build();
     }
 }
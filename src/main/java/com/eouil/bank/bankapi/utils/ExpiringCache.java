@@ -0,0 +1,79 @@
+package com.eouil.bank.bankapi.utils;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 크기 상한 + 엔트리별 만료 시각을 가진 로컬 캐시
+// 꽉 차면 만료된 엔트리부터 정리하고, 그래도 넘치면 일부를 비워서 상한 유지
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+
+    public ExpiringCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            map.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (map.size() >= maxSize) {
+            evict();
+        }
+        map.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void remove(K key) {
+        map.remove(key);
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    private void evict() {
+        // 다른 스레드가 정리 중이면 기다리지 않고 그냥 넣음 (상한은 잠깐 넘을 수 있음)
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            map.entrySet().removeIf(e -> e.getValue().expiresAtMillis <= now);
+
+            int toRemove = map.size() - maxSize * 3 / 4;
+            Iterator<K> it = map.keySet().iterator();
+            while (toRemove-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.eouil.bank.bankapi.utils;
 
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -7,24 +9,48 @@ import io.jsonwebtoken.Claims;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long CLOCK_SKEW_SECONDS = 60; // 1분 정도 시간 차 허용
+
     private final Key key;
     private final long ACCESS_EXP = 1000 * 60 * 5;  // 5분
     private final long REFRESH_EXP = 1000 * 60 * 60 * 24 * 7; // 7일
 
+    // 파서는 불변 + thread-safe 라서 한 번만 생성
+    private final JwtParser parser;
+    // 검증 끝난 토큰 digest → claims (토큰 exp 시점에 만료)
+    private final ExpiringCache<String, Claims> verifiedClaims;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretKey) {
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+        this.verifiedClaims = new ExpiringCache<>(claimsCacheMaxSize);
     }
 
     // access token
     public String generateAccessToken(String userId) {
+        return generateAccessToken(userId, null);
+    }
+
+    // access token (이메일 claim 포함 → 요청마다 사용자 조회 불필요)
+    public String generateAccessToken(String userId, String email) {
         return Jwts.builder()
                 .setSubject(userId)
+                .claim(AuthenticatedUser.EMAIL_CLAIM, email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + ACCESS_EXP))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -43,14 +69,30 @@ public class JwtUtil {
 
     // JWT 토큰을 검증하고 userId 추출
     public String validateTokenAndGetUserId(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(60) // ← 1분 정도 시간 차 허용
-                .build()
-                .parseClaimsJws(token.replace("Bearer ", ""))
-                .getBody();
+        return parseClaims(token).getSubject();
+    }
+
+    // 검증된 claims 조회: 요청 내 보관값 → digest 캐시 → 실제 서명 검증 순
+    public Claims parseClaims(String token) {
+        String jwt = stripBearer(token);
 
-        return claims.getSubject();
+        Claims claims = VerifiedTokenHolder.get(jwt);
+        if (claims != null) {
+            return claims;
+        }
+
+        String digest = tokenHash(jwt);
+        claims = verifiedClaims.get(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(jwt).getBody();
+            if (claims.getExpiration() != null) {
+                // 허용 skew 까지 지나면 파서도 거부하므로 그 시점에 캐시에서도 제거
+                verifiedClaims.put(digest, claims, claims.getExpiration().getTime() + CLOCK_SKEW_SECONDS * 1000);
+            }
+        }
+
+        VerifiedTokenHolder.put(jwt, claims);
+        return claims;
     }
 
     public long getAccessTokenExpireMillis() {
@@ -62,13 +104,21 @@ public class JwtUtil {
     }
 
     public long getExpiration(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token.replace("Bearer ", ""))
-                .getBody();
+        return parseClaims(token).getExpiration().getTime();
+    }
+
+    // 토큰 원문 대신 쓰는 짧은 식별자 (SHA-256 앞 16바이트, base64url)
+    public String tokenHash(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(stripBearer(token).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-        return claims.getExpiration().getTime();
+    private String stripBearer(String token) {
+        return token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
     }
-    
-}
\ No newline at end of file
+}
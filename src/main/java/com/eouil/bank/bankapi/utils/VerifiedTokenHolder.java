@@ -0,0 +1,44 @@
+package com.eouil.bank.bankapi.utils;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// 요청 단위로 이미 검증한 토큰의 claims 보관
+// 필터 → 서비스로 같은 토큰이 넘어와도 한 요청 안에서는 한 번만 검증
+final class VerifiedTokenHolder {
+
+    private static final String ATTRIBUTE = VerifiedTokenHolder.class.getName();
+
+    private VerifiedTokenHolder() {
+    }
+
+    static Claims get(String jwt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object value = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (value instanceof VerifiedToken verified && verified.jwt.equals(jwt)) {
+            return verified.claims;
+        }
+        return null;
+    }
+
+    static void put(String jwt, Claims claims) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new VerifiedToken(jwt, claims), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final String jwt;
+        private final Claims claims;
+
+        private VerifiedToken(String jwt, Claims claims) {
+            this.jwt = jwt;
+            this.claims = claims;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.services.AccountNumberAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 두 인스턴스가 같은 블록 테이블에서 동시에 발급해도 계좌번호가 겹치지 않고 검증 숫자가 맞는지 확인
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountNumberAllocatorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentAllocatorsShouldNotOverlap() throws Exception {
+        AccountNumberAllocator nodeA = new AccountNumberAllocator(jdbcTemplate, transactionManager, 100);
+        AccountNumberAllocator nodeB = new AccountNumberAllocator(jdbcTemplate, transactionManager, 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            AccountNumberAllocator allocator = i % 2 == 0 ? nodeA : nodeB;
+            // 단건 발급과 일괄 발급(블록보다 큰 요청) 섞어서
+            futures.add(executor.submit(() -> {
+                List<String> numbers = new ArrayList<>(allocator.allocate(250));
+                for (int n = 0; n < 50; n++) {
+                    numbers.add(allocator.next());
+                }
+                return numbers;
+            }));
+        }
+
+        Set<String> issued = new HashSet<>();
+        for (Future<List<String>> future : futures) {
+            for (String number : future.get()) {
+                assertEquals(14, number.length());
+                assertTrue(number.startsWith("0"));
+                assertTrue(luhnValid(number), number);
+                assertTrue(issued.add(number), "중복 발급: " + number);
+            }
+        }
+        executor.shutdown();
+        assertEquals(8 * 300, issued.size());
+    }
+
+    private static boolean luhnValid(String number) {
+        int sum = 0;
+        for (int i = 0; i < number.length(); i++) {
+            int d = number.charAt(number.length() - 1 - i) - '0';
+            if (i % 2 == 1) {
+                d = d * 2 > 9 ? d * 2 - 9 : d * 2;
+            }
+            sum += d;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -1,12 +1,16 @@
 package com.eouil.bank.bankapi;
 
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
 import com.eouil.bank.bankapi.domains.Account;
 import com.eouil.bank.bankapi.domains.User;
 import com.eouil.bank.bankapi.dtos.requests.CreateAccountRequest;
 import com.eouil.bank.bankapi.dtos.responses.CreateAccountResponse;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
 import com.eouil.bank.bankapi.repositories.AccountRepository;
 import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.services.AccountNumberAllocator;
 import com.eouil.bank.bankapi.services.AccountService;
+import com.eouil.bank.bankapi.services.AccountSummaryCache;
 import com.eouil.bank.bankapi.utils.JwtUtil;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +37,18 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountJdbcRepository accountJdbcRepository;
+
+    @Mock
+    private HotAccountRegistry hotAccountRegistry;
+
+    @Mock
+    private AccountSummaryCache accountSummaryCache;
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -62,7 +78,7 @@ class AccountServiceTest {
             mockedJwt.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
 
             when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+            when(accountNumberAllocator.next()).thenReturn("00000000000018");
 
             CreateAccountResponse response = accountService.createAccount(request, token);
 
@@ -0,0 +1,89 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.dtos.responses.GetMyAccountResponse;
+import com.eouil.bank.bankapi.services.AccountSummaryCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Redis 계층을 끈 로컬 LRU 동작 확인
+class AccountSummaryCacheTest {
+
+    private static final String ACCOUNT = "10000000000001";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private AccountSummaryCache cache;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setup() {
+        cache = new AccountSummaryCache(mock(RedisTemplate.class), mock(RedisMessageListenerContainer.class),
+                new ObjectMapper().findAndRegisterModules(), registry, false, 100, 60_000, 60_000, 5, 10_000);
+    }
+
+    @Test
+    void balanceChange_shouldEvictOwnerSummary() {
+        assertEquals("1000", cache.get("user-1", this::accountNumbers, () -> load("1000")).get(0).getBalance().toPlainString());
+        assertEquals("1000", cache.get("user-1", this::accountNumbers, () -> load("999")).get(0).getBalance().toPlainString());
+        assertEquals(1, loads.get());
+
+        // 트랜잭션 밖이면 바로 무효화 - 계좌번호로 주인을 찾아서
+        cache.evictAccountsAfterCommit(ACCOUNT);
+
+        assertEquals("500", cache.get("user-1", this::accountNumbers, () -> load("500")).get(0).getBalance().toPlainString());
+        assertEquals(2, loads.get());
+        assertEquals(1, registry.counter("account_summary_cache_requests_total", "result", "local_hit").count());
+    }
+
+    @Test
+    void loadOverlappingEviction_shouldNotBeCached() {
+        cache.get("user-1", this::accountNumbers, () -> load("1000"));
+        cache.evictUser("user-1");
+
+        // 조회 도중 커밋된 변경이 있으면 (오래된 값일 수 있으므로) 저장하지 않음
+        cache.get("user-1", this::accountNumbers, () -> {
+            List<GetMyAccountResponse> stale = load("1000");
+            cache.evictUser("user-1");
+            return stale;
+        });
+        assertEquals("700", cache.get("user-1", this::accountNumbers, () -> load("700")).get(0).getBalance().toPlainString());
+        assertEquals(1, registry.counter("account_summary_cache_stale_write_total", "tier", "local").count());
+    }
+
+    @Test
+    void balanceChangeDuringFirstLoad_shouldNotCacheStaleSummary() {
+        // 아직 한 번도 캐시되지 않은 사용자 - 잔액을 읽은 뒤, 로드가 끝나기 전에 이체가 커밋된 상황
+        List<GetMyAccountResponse> first = cache.get("user-1", this::accountNumbers, () -> {
+            List<GetMyAccountResponse> stale = load("1000");
+            cache.evictAccountsAfterCommit(ACCOUNT);
+            return stale;
+        });
+        assertEquals("1000", first.get(0).getBalance().toPlainString());
+
+        // 주인 인덱스가 로드 전에 기록되어 커밋 쪽이 사용자를 찾음 → 오래된 값은 저장되지 않음
+        assertEquals("400", cache.get("user-1", this::accountNumbers, () -> load("400")).get(0).getBalance().toPlainString());
+        assertEquals(2, loads.get());
+        assertEquals(1, registry.counter("account_summary_cache_stale_write_total", "tier", "local").count());
+    }
+
+    private List<String> accountNumbers() {
+        return List.of(ACCOUNT);
+    }
+
+    private List<GetMyAccountResponse> load(String balance) {
+        loads.incrementAndGet();
+        return List.of(new GetMyAccountResponse(ACCOUNT, new BigDecimal(balance), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.ActiveUserCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveUserCacheTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+
+    private ActiveUserCache activeUserCache;
+
+    @BeforeEach
+    void setup() {
+        activeUserCache = new ActiveUserCache(userRepository, redisTemplate, listenerContainer, true, 100, 60_000);
+    }
+
+    @Test
+    void deletedUser_shouldBeRejectedRightAfterCommit() {
+        when(userRepository.existsById("user-1")).thenReturn(true, false);
+        assertTrue(activeUserCache.isActive("user-1"));
+        assertTrue(activeUserCache.isActive("user-1"));
+        verify(userRepository, times(1)).existsById("user-1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activeUserCache.invalidateAfterCommit("user-1");
+            // 커밋 전에는 그대로
+            assertTrue(activeUserCache.isActive("user-1"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // TTL 을 기다리지 않고 다음 요청부터 DB 에서 다시 확인
+        assertFalse(activeUserCache.isActive("user-1"));
+        verify(redisTemplate).convertAndSend(anyString(), eq("user-1"));
+    }
+
+    @Test
+    void unknownUser_shouldNotBeCached() {
+        when(userRepository.existsById("ghost")).thenReturn(false, true);
+
+        assertFalse(activeUserCache.isActive("ghost"));
+        assertTrue(activeUserCache.isActive("ghost"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.domains.AlertOutbox;
+import com.eouil.bank.bankapi.domains.AlertStatus;
+import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.repositories.AlertOutboxRepository;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.AlertDispatcher;
+import com.eouil.bank.bankapi.services.AlertService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.SendEmailRequest;
+import software.amazon.awssdk.services.ses.model.SendEmailResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 고액 출금 알림이 트랜잭션 밖에서 발송되는지 확인 (응답을 막아 둔 가짜 SES 로 출금과 발송 순서 확인)
+@Import({AlertService.class, AlertDispatcher.class, AlertDispatchTest.FakeSesConfig.class})
+@TestPropertySource(properties = {
+        "cloud.aws.ses.sender=alert@example.com",
+        "custom.alert.workers=1",
+        "custom.alert.coalesce-ms=500"
+})
+class AlertDispatchTest extends LedgerIntegrationTest {
+
+    private static final String USER_ID = "alert-user";
+    private static final String EMAIL = "alert@example.com";
+    private static final String ACCOUNT = "10000000000011";
+    private static final BigDecimal LARGE_AMOUNT = new BigDecimal("1000000");
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(USER_ID, EMAIL);
+
+    @Autowired private AlertOutboxRepository alertOutboxRepository;
+    @Autowired private FakeSesClient sesClient;
+
+    @TestConfiguration
+    static class FakeSesConfig {
+        @Bean
+        FakeSesClient sesClient() {
+            return new FakeSesClient();
+        }
+    }
+
+    // 실제 SES 대신 요청을 기록, hold() 중에는 release() 까지 응답하지 않음
+    static class FakeSesClient implements SesClient {
+        final List<SendEmailRequest> sent = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void reset() {
+            release();
+            sent.clear();
+            calls.set(0);
+        }
+
+        @Override
+        public SendEmailResponse sendEmail(SendEmailRequest request) {
+            calls.incrementAndGet();
+            try {
+                gate.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(request);
+            return SendEmailResponse.builder().messageId("fake-" + sent.size()).build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "ses";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        sesClient.reset();
+        saveAccount(ACCOUNT, saveUser(USER_ID, "알림", EMAIL), new BigDecimal("10000000"));
+    }
+
+    @Test
+    void largeWithdrawal_shouldNotHoldLocksWhileSendingEmail() throws Exception {
+        // SES 가 응답하지 않는 동안에도 출금은 끝나고 알림은 outbox 에 커밋되어 있어야 함
+        sesClient.hold();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> transactionService.withdraw(withdrawRequest(), principal),
+                    "출금이 메일 발송을 기다림");
+
+            List<AlertOutbox> committed = alertOutboxRepository.findAll();
+            assertEquals(1, committed.size());
+            assertEquals(AlertStatus.PENDING, committed.get(0).getStatus());
+
+            // 워커는 SES 호출에서 막혀 있고 아직 보낸 메일 없음
+            awaitUntil(() -> sesClient.calls.get() == 1);
+            assertTrue(sesClient.sent.isEmpty());
+        } finally {
+            sesClient.release();
+        }
+
+        awaitUntil(() -> sesClient.sent.size() == 1);
+        AlertOutbox alert = alertOutboxRepository.findAll().get(0);
+        awaitUntil(() -> alertOutboxRepository.findById(alert.getId()).orElseThrow().getStatus() == AlertStatus.SENT);
+        assertEquals(EMAIL, sesClient.sent.get(0).destination().toAddresses().get(0));
+    }
+
+    @Test
+    void reclaimedAlert_shouldNotBeOverwrittenByStaleWorker() throws Exception {
+        sesClient.hold();
+        try {
+            transactionService.withdraw(withdrawRequest(), principal);
+            awaitUntil(() -> sesClient.calls.get() == 1);
+
+            // 발송 중 임대가 끝나 다른 인스턴스 스위퍼가 새 임대로 점유한 상황
+            LocalDateTime otherLease = LocalDateTime.now().plusHours(1).withNano(0);
+            jdbcTemplate.update("UPDATE alert_outbox SET next_attempt_at = ?", otherLease);
+        } finally {
+            sesClient.release();
+        }
+
+        Long reclaimedId = alertOutboxRepository.findAll().get(0).getId();
+
+        // 워커는 하나라 다음 알림을 발송하기 시작했으면 앞 묶음의 상태 갱신은 끝난 상태
+        transactionService.withdraw(withdrawRequest(), principal);
+        awaitUntil(() -> sesClient.calls.get() == 2);
+
+        AlertOutbox alert = alertOutboxRepository.findById(reclaimedId).orElseThrow();
+        assertEquals(AlertStatus.PENDING, alert.getStatus());
+        assertEquals(0, alert.getAttempts());
+    }
+
+    @Test
+    void alertsForSameRecipient_shouldBeCoalesced() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            transactionService.withdraw(withdrawRequest(), principal);
+        }
+
+        awaitUntil(() -> alertOutboxRepository.findAll().stream().allMatch(a -> a.getStatus() == AlertStatus.SENT));
+        assertEquals(3, alertOutboxRepository.count());
+        assertTrue(sesClient.sent.size() < 3, "수신자별로 묶이지 않음: " + sesClient.sent.size() + "통");
+    }
+
+    private WithdrawRequestDTO withdrawRequest() {
+        WithdrawRequestDTO request = new WithdrawRequestDTO();
+        request.setFromAccountNumber(ACCOUNT);
+        request.setAmount(LARGE_AMOUNT);
+        return request;
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("조건을 시간 안에 만족하지 못함");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
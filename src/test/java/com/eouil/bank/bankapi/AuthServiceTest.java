@@ -1,6 +1,7 @@
 package com.eouil.bank.bankapi;
 
 
+import com.eouil.bank.bankapi.domains.Account;
 import com.eouil.bank.bankapi.domains.User;
 import com.eouil.bank.bankapi.dtos.requests.JoinRequest;
 import com.eouil.bank.bankapi.dtos.requests.LoginRequest;
@@ -8,6 +9,8 @@ import com.eouil.bank.bankapi.dtos.responses.JoinResponse;
 import com.eouil.bank.bankapi.dtos.responses.LoginResponse;
 import com.eouil.bank.bankapi.exceptions.DuplicateEmailException;
 import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.LoginAttemptLimiter;
+import com.eouil.bank.bankapi.services.AccountService;
 import com.eouil.bank.bankapi.services.AuthService;
 import com.eouil.bank.bankapi.utils.JwtUtil;
 import org.junit.jupiter.api.Test;
@@ -17,12 +20,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +41,12 @@ class AuthServiceTest {
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private LoginAttemptLimiter loginAttemptLimiter;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     @InjectMocks
     private AuthService authService;
 
@@ -48,13 +63,15 @@ class AuthServiceTest {
         request.email = "goorm@example.com";
         request.password = "goormpassword123";
 
-        when(userRepository.findByEmail(request.email)).thenReturn(Optional.empty());
+        when(accountService.newAccount(any(User.class), any(BigDecimal.class))).thenReturn(new Account());
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        when(userRepository.save(userCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(userCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
 
         JoinResponse response = authService.join(request);
 
+        // 중복 확인 선조회 없이 INSERT
+        verify(userRepository, never()).findByEmail(request.email);
         User savedUser = userCaptor.getValue();
         assertNotNull(savedUser.getUserId());
         assertEquals(request.name, savedUser.getName());
@@ -70,6 +87,9 @@ class AuthServiceTest {
         request.email = "goorm@example.com";
         request.password = "goormpassword123";
 
+        when(accountService.newAccount(any(User.class), any(BigDecimal.class))).thenReturn(new Account());
+        // 동시 가입 등으로 unique 제약에 걸린 경우
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_email"));
         when(userRepository.findByEmail(request.email)).thenReturn(Optional.of(new User()));
 
         assertThrows(DuplicateEmailException.class, () -> authService.join(request));
@@ -92,7 +112,7 @@ class AuthServiceTest {
         try (MockedStatic<JwtUtil> jwtMock = mockStatic(JwtUtil.class)) {
             jwtMock.when(() -> jwtUtil.generateAccessToken("test-user-id")).thenReturn("mock-token");
 
-            LoginResponse response = authService.login(request);
+            LoginResponse response = authService.login(request, "127.0.0.1");
 
             assertEquals("mock-token", response.getAccessToken());
         }
@@ -106,7 +126,7 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(request.email)).thenReturn(Optional.empty());
 
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> authService.login(request));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> authService.login(request, "127.0.0.1"));
         assertEquals("Email not found", ex.getMessage());
     }
 
@@ -123,7 +143,7 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(request.email)).thenReturn(Optional.of(mockUser));
 
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> authService.login(request));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> authService.login(request, "127.0.0.1"));
         assertEquals("Invalid password", ex.getMessage());
     }
 
@@ -0,0 +1,72 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.exceptions.PasswordHashingBusyException;
+import com.eouil.bank.bankapi.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatch_shouldUseConfiguredCostAndUpgradeOnlyLowerCosts() {
+        encoder = new BoundedPasswordEncoder(new SimpleMeterRegistry(), 5, 1, 10, 5000);
+
+        String hash = encoder.encode("goormpassword123");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("goormpassword123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        // 더 낮은 cost 해시만 재해시 대상, 더 높은 cost 해시는 낮추지 않음
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("goormpassword123")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(10).encode("goormpassword123")));
+    }
+
+    @Test
+    void fullQueue_shouldRejectImmediately() throws Exception {
+        // 스레드 1개 + 대기열 1개 → 동시에 4건이면 최소 2건은 거절
+        encoder = new BoundedPasswordEncoder(new SimpleMeterRegistry(), 12, 1, 1, 30_000);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return encoder.encode("goormpassword123");
+                }));
+            }
+            start.countDown();
+
+            int rejected = 0;
+            for (Future<String> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertInstanceOf(PasswordHashingBusyException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertTrue(rejected >= 2, "rejected: " + rejected);
+        }
+    }
+}
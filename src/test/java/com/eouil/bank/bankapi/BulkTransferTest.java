@@ -0,0 +1,107 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.domains.BulkTransferMode;
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.dtos.requests.BulkTransferLegDTO;
+import com.eouil.bank.bankapi.dtos.requests.BulkTransferRequestDTO;
+import com.eouil.bank.bankapi.dtos.responses.BulkTransferLegResultDTO;
+import com.eouil.bank.bankapi.dtos.responses.BulkTransferResponseDTO;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.AlertService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 급여 지급처럼 한 계좌 → 여러 계좌 일괄 이체
+class BulkTransferTest extends LedgerIntegrationTest {
+
+    private static final String PAYER_ID = "payroll-user";
+    private static final String PAYER_ACCOUNT = "20000000000000";
+    private static final BigDecimal PAYER_BALANCE = new BigDecimal("1000000");
+    private static final int EMPLOYEES = 50;
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(PAYER_ID, "payroll@example.com");
+
+    @MockBean private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        User payer = saveUser(PAYER_ID, "급여", "payroll@example.com");
+        User employee = saveUser("employee-user", "급여", "employee@example.com");
+        saveAccount(PAYER_ACCOUNT, payer, PAYER_BALANCE);
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            saveAccount(employeeAccount(i), employee, BigDecimal.ZERO);
+        }
+    }
+
+    @Test
+    void allOrNothing_shouldApplyEveryLegWithBatchedLedgerRows() {
+        BulkTransferResponseDTO response = transactionService.bulkTransfer(
+                request(BulkTransferMode.ALL_OR_NOTHING, payroll(EMPLOYEES, "10000")), principal);
+
+        assertEquals(EMPLOYEES, response.getCompletedCount());
+        assertEquals(0, response.getFailedCount());
+        assertEquals(0, response.getBalanceAfter().compareTo(new BigDecimal("500000")));
+        assertEquals(0, balance(PAYER_ACCOUNT).compareTo(new BigDecimal("500000")));
+        assertEquals(0, balance(employeeAccount(7)).compareTo(new BigDecimal("10000")));
+
+        assertTrue(response.getResults().stream().allMatch(r -> r.getTransactionID() != null));
+        assertEquals(EMPLOYEES, count("transaction"));
+        assertEquals(EMPLOYEES, count("ledger_outbox"));
+    }
+
+    @Test
+    void allOrNothing_withMissingAccount_shouldApplyNothing() {
+        List<BulkTransferLegDTO> legs = payroll(3, "10000");
+        legs.add(new BulkTransferLegDTO("29999999999999", new BigDecimal("10000"), "없는 계좌"));
+
+        BulkTransferResponseDTO response = transactionService.bulkTransfer(
+                request(BulkTransferMode.ALL_OR_NOTHING, legs), principal);
+
+        assertEquals(0, response.getCompletedCount());
+        assertEquals(1, response.getFailedCount());
+        assertEquals("SKIPPED", response.getResults().get(0).getStatus());
+        assertEquals("To Account not found", response.getResults().get(3).getReason());
+        assertEquals(0, balance(PAYER_ACCOUNT).compareTo(PAYER_BALANCE));
+        assertEquals(0, count("transaction"));
+    }
+
+    @Test
+    void bestEffort_shouldApplyLegsUntilFundsRunOut() {
+        // 30만원씩 4건 → 3건만 가능
+        BulkTransferResponseDTO response = transactionService.bulkTransfer(
+                request(BulkTransferMode.BEST_EFFORT, payroll(4, "300000")), principal);
+
+        assertEquals(3, response.getCompletedCount());
+        assertEquals(1, response.getFailedCount());
+        BulkTransferLegResultDTO last = response.getResults().get(3);
+        assertEquals("FAILED", last.getStatus());
+        assertEquals("Insufficient funds", last.getReason());
+
+        assertEquals(0, balance(PAYER_ACCOUNT).compareTo(new BigDecimal("100000")));
+        assertEquals(0, balance(employeeAccount(4)).compareTo(BigDecimal.ZERO));
+        assertEquals(3, count("transaction"));
+    }
+
+    private BulkTransferRequestDTO request(BulkTransferMode mode, List<BulkTransferLegDTO> legs) {
+        return new BulkTransferRequestDTO(PAYER_ACCOUNT, mode, legs);
+    }
+
+    private List<BulkTransferLegDTO> payroll(int count, String amount) {
+        List<BulkTransferLegDTO> legs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            legs.add(new BulkTransferLegDTO(employeeAccount(i), new BigDecimal(amount), "급여"));
+        }
+        return legs;
+    }
+
+    private String employeeAccount(int i) {
+        return String.valueOf(21000000000000L + i);
+    }
+}
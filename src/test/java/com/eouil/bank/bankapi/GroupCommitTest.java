@@ -0,0 +1,121 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.concurrency.GroupCommitExecutor;
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.dtos.requests.DepositRequestDTO;
+import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.AlertService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 그룹 커밋: 여러 요청이 한 트랜잭션으로 묶여도 실패한 요청만 되돌아가고 원장 id 는 건별로 채워지는지 확인
+@TestPropertySource(properties = {
+        "custom.transaction.group-commit.enabled=true",
+        "custom.transaction.group-commit.window-micros=2000"
+})
+class GroupCommitTest extends LedgerIntegrationTest {
+
+    private static final String USER_ID = "group-commit-user";
+    private static final int ACCOUNTS = 20;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100");
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "group@example.com");
+
+    @Autowired private SimpleMeterRegistry meterRegistry;
+    @Autowired private GroupCommitExecutor groupCommitExecutor;
+
+    @MockBean private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        User user = saveUser(USER_ID, "그룹커밋", "group@example.com");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            saveAccount(accountNumber(i), user, INITIAL_BALANCE);
+        }
+    }
+
+    @Test
+    void failedCommandsShouldRollBackAloneInsideSharedCommit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ACCOUNTS * 2);
+        List<Future<TransactionResponseDTO>> deposits = new ArrayList<>();
+        List<Future<TransactionResponseDTO>> withdrawals = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String account = accountNumber(i);
+            deposits.add(executor.submit(() -> transactionService.deposit(depositRequest(account), principal)));
+            withdrawals.add(executor.submit(() -> transactionService.withdraw(withdrawRequest(account), principal)));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Future<TransactionResponseDTO> deposit : deposits) {
+            ids.add(deposit.get(30, TimeUnit.SECONDS).getTransactionID());
+        }
+        for (Future<TransactionResponseDTO> withdrawal : withdrawals) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> withdrawal.get(30, TimeUnit.SECONDS));
+            assertEquals("Insufficient funds", e.getCause().getMessage());
+        }
+        executor.shutdown();
+
+        assertEquals(ACCOUNTS, ids.stream().filter(id -> id != null).distinct().count());
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertEquals(0, balance(accountNumber(i)).compareTo(new BigDecimal("150")));
+        }
+        assertEquals(ACCOUNTS, count("transaction"));
+        assertEquals(ACCOUNTS, count("ledger_outbox"));
+
+        // 모든 요청이 커미터를 거쳤는지 (건별 재처리 없이)
+        DistributionSummary batchSize = meterRegistry.find("group_commit_batch_size").summary();
+        assertNotNull(batchSize);
+        assertEquals(ACCOUNTS * 2, (int) batchSize.totalAmount());
+    }
+
+    @Test
+    void stoppedExecutor_shouldRunInlineInsteadOfWaiting() {
+        groupCommitExecutor.stop();
+        try {
+            // 커미터가 없어도 요청이 멈추지 않고 건별 트랜잭션으로 처리
+            TransactionResponseDTO response = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> transactionService.deposit(depositRequest(accountNumber(0)), principal));
+            assertNotNull(response.getTransactionID());
+            assertEquals(0, balance(accountNumber(0)).compareTo(new BigDecimal("150")));
+        } finally {
+            groupCommitExecutor.start();
+        }
+    }
+
+    private DepositRequestDTO depositRequest(String account) {
+        DepositRequestDTO request = new DepositRequestDTO();
+        request.setToAccountNumber(account);
+        request.setAmount(new BigDecimal("50"));
+        return request;
+    }
+
+    private WithdrawRequestDTO withdrawRequest(String account) {
+        WithdrawRequestDTO request = new WithdrawRequestDTO();
+        request.setFromAccountNumber(account);
+        request.setAmount(new BigDecimal("1000"));
+        return request;
+    }
+
+    private String accountNumber(int i) {
+        return String.valueOf(40000000000000L + i);
+    }
+}
@@ -0,0 +1,58 @@
+package com.eouil.bank.bankapi;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.eouil.bank.bankapi.logging.HotPathLogSampler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathLogSamplerTest {
+
+    private static final String LOGGER = "com.eouil.bank.bankapi.services.TransactionService";
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setup() {
+        HotPathLogSampler sampler = new HotPathLogSampler();
+        sampler.setContext(context);
+        sampler.setLoggerName(LOGGER);
+        sampler.setTags("[TRANSFER], [WITHDRAW]");
+        sampler.setMaxPerSecond(10);
+        // 한도를 넘으면 사실상 모두 버림
+        sampler.setSampleRate(Integer.MAX_VALUE);
+        sampler.start();
+        context.addTurboFilter(sampler);
+
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @Test
+    void taggedInfoLogs_shouldBeLimitedPerSecond() {
+        Logger logger = context.getLogger(LOGGER);
+        for (int i = 0; i < 1000; i++) {
+            logger.info("[TRANSFER] 요청 - 금액: {}", i);
+        }
+        long passed = appender.list.size();
+        // 초 경계를 한 번 넘을 수 있음
+        assertTrue(passed >= 10 && passed <= 20, "통과 " + passed);
+    }
+
+    @Test
+    void warnings_untaggedAndOtherLoggers_shouldAlwaysPass() {
+        Logger logger = context.getLogger(LOGGER);
+        for (int i = 0; i < 100; i++) {
+            logger.warn("[TRANSFER] 실패 - {}", i);
+            logger.info("[BULK TRANSFER] 요청 - {}", i);
+            context.getLogger("com.eouil.bank.bankapi.services.AccountService").info("[TRANSFER] {}", i);
+        }
+        assertEquals(300, appender.list.size());
+    }
+}
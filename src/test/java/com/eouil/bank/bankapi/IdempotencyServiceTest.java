@@ -0,0 +1,173 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.exceptions.GroupCommitTimeoutException;
+import com.eouil.bank.bankapi.exceptions.IdempotencyConflictException;
+import com.eouil.bank.bankapi.services.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        idempotencyService = new IdempotencyService(redisTemplate, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 100, 60_000, 30_000, 2_000);
+    }
+
+    @Test
+    void retryWithSameKey_shouldReturnStoredResponseWithoutExecutingAgain() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        WithdrawRequestDTO request = withdrawRequest("5000");
+
+        TransactionResponseDTO first = idempotencyService.execute("user-1", "withdraw", "key-1", request, this::withdraw);
+        TransactionResponseDTO retry = idempotencyService.execute("user-1", "withdraw", "key-1", request, this::withdraw);
+
+        assertEquals(1, executions.get());
+        assertEquals(first.getTransactionID(), retry.getTransactionID());
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void concurrentDuplicates_shouldWaitForInFlightResult() throws Exception {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        WithdrawRequestDTO request = withdrawRequest("5000");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<TransactionResponseDTO> first = executor.submit(() ->
+                idempotencyService.execute("user-1", "withdraw", "key-2", request, () -> {
+                    started.countDown();
+                    await(release);
+                    return withdraw();
+                }));
+        started.await(1, TimeUnit.SECONDS);
+        Future<TransactionResponseDTO> duplicate = executor.submit(() ->
+                idempotencyService.execute("user-1", "withdraw", "key-2", request, this::withdraw));
+
+        release.countDown();
+        assertEquals(first.get(2, TimeUnit.SECONDS).getTransactionID(), duplicate.get(2, TimeUnit.SECONDS).getTransactionID());
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void redisDown_shouldStillDedupeLocally() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        WithdrawRequestDTO request = withdrawRequest("5000");
+
+        idempotencyService.execute("user-1", "withdraw", "key-3", request, this::withdraw);
+        idempotencyService.execute("user-1", "withdraw", "key-3", request, this::withdraw);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void sameKeyWithDifferentPayload_shouldBeRejected() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        idempotencyService.execute("user-1", "withdraw", "key-4", withdrawRequest("5000"), this::withdraw);
+
+        assertThrows(IdempotencyConflictException.class, () ->
+                idempotencyService.execute("user-1", "withdraw", "key-4", withdrawRequest("9000"), this::withdraw));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void unknownCommitOutcome_shouldKeepKeyReserved() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        WithdrawRequestDTO request = withdrawRequest("5000");
+
+        // 그룹 커밋 결과를 기다리다 시간 초과 (묶음은 나중에 커밋될 수 있음)
+        assertThrows(GroupCommitTimeoutException.class, () ->
+                idempotencyService.execute("user-1", "withdraw", "key-5", request, () -> {
+                    executions.incrementAndGet();
+                    throw new GroupCommitTimeoutException();
+                }));
+
+        // 키를 풀지 않으므로 같은 키 재시도는 다시 실행되지 않음
+        assertThrows(IdempotencyConflictException.class, () ->
+                idempotencyService.execute("user-1", "withdraw", "key-5", request, this::withdraw));
+        assertEquals(1, executions.get());
+        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    void failedRequest_shouldReleaseKeyForRetry() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        WithdrawRequestDTO request = withdrawRequest("5000");
+
+        assertThrows(RuntimeException.class, () ->
+                idempotencyService.execute("user-1", "withdraw", "key-6", request, () -> {
+                    throw new RuntimeException("Insufficient funds");
+                }));
+        idempotencyService.execute("user-1", "withdraw", "key-6", request, this::withdraw);
+
+        verify(redisTemplate).delete(anyString());
+        assertEquals(1, executions.get());
+    }
+
+    private TransactionResponseDTO withdraw() {
+        int id = executions.incrementAndGet();
+        return TransactionResponseDTO.builder()
+                .transactionID((long) id)
+                .fromAccountNumber("111-222")
+                .type("WITHDRAWAL")
+                .amount(new BigDecimal("5000"))
+                .status("COMPLETED")
+                .balanceAfter(new BigDecimal("10000"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private WithdrawRequestDTO withdrawRequest(String amount) {
+        WithdrawRequestDTO request = new WithdrawRequestDTO();
+        request.setFromAccountNumber("111-222");
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.concurrency.AccountLockManager;
+import com.eouil.bank.bankapi.concurrency.DeadlockRetryExecutor;
+import com.eouil.bank.bankapi.concurrency.GroupCommitExecutor;
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
+import com.eouil.bank.bankapi.domains.Account;
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
+import com.eouil.bank.bankapi.repositories.AccountRepository;
+import com.eouil.bank.bankapi.repositories.TransactionJdbcRepository;
+import com.eouil.bank.bankapi.repositories.TransactionQueryRepository;
+import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.services.AccountSummaryCache;
+import com.eouil.bank.bankapi.services.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 이체 / 입출금 경로 통합 테스트 공통 설정 (H2 + 실제 JDBC 경로, Redis / 계좌 요약 캐시는 mock)
+// 여러 스레드에서 각자 커밋해야 하므로 테스트 트랜잭션은 끔 - 매 테스트 전에 테이블을 비움
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionService.class, TransactionJdbcRepository.class, TransactionQueryRepository.class,
+        AccountJdbcRepository.class, DeadlockRetryExecutor.class, GroupCommitExecutor.class, AccountLockManager.class,
+        HotAccountRegistry.class, SimpleMeterRegistry.class})
+abstract class LedgerIntegrationTest {
+
+    @Autowired protected TransactionService transactionService;
+    @Autowired protected UserRepository userRepository;
+    @Autowired protected AccountRepository accountRepository;
+    @Autowired protected AccountJdbcRepository accountJdbcRepository;
+    @Autowired protected JdbcTemplate jdbcTemplate;
+
+    @MockBean protected AccountSummaryCache accountSummaryCache;
+    @MockBean protected RedisTemplate<String, String> redisTemplate;
+    @MockBean protected RedisMessageListenerContainer listenerContainer;
+
+    @BeforeEach
+    void resetLedger() {
+        jdbcTemplate.update("DELETE FROM transaction");
+        jdbcTemplate.update("DELETE FROM ledger_outbox");
+        jdbcTemplate.update("DELETE FROM alert_outbox");
+        jdbcTemplate.update("DELETE FROM account_balance_bucket");
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    protected User saveUser(String userId, String name, String email) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("encoded-password");
+        return userRepository.save(user);
+    }
+
+    protected Account saveAccount(String accountNumber, User user, BigDecimal balance) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setUser(user);
+        account.setBalance(balance);
+        account.setCreatedAt(LocalDateTime.now());
+        return accountRepository.save(account);
+    }
+
+    protected BigDecimal balance(String accountNumber) {
+        return accountRepository.findById(accountNumber).orElseThrow().getBalance();
+    }
+
+    protected int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
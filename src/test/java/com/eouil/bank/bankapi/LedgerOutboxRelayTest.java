@@ -0,0 +1,101 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.events.InMemoryLedgerEventSink;
+import com.eouil.bank.bankapi.events.LedgerEvent;
+import com.eouil.bank.bankapi.services.LedgerOutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 미발행 outbox 를 한 번씩만 발행하고, 낮은 id 가 늦게 커밋돼도 빠뜨리지 않는지 확인
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({LedgerOutboxRelay.class, InMemoryLedgerEventSink.class, SimpleMeterRegistry.class})
+class LedgerOutboxRelayTest {
+
+    @Autowired private LedgerOutboxRelay relay;
+    @Autowired private InMemoryLedgerEventSink sink;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ledger_outbox");
+        sink.clear();
+    }
+
+    @Test
+    void relay_shouldPublishInIdOrderOnce() {
+        for (int i = 0; i < 5; i++) {
+            insertOutbox(jdbcTemplate);
+        }
+
+        relay.relay();
+        relay.relay();
+
+        List<Long> ids = publishedIds();
+        assertEquals(5, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(ids.get(i - 1) + 1, ids.get(i));
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_outbox WHERE published_at IS NULL", Integer.class));
+    }
+
+    @Test
+    void relay_shouldPublishLowerIdCommittedAfterHigherId() throws Exception {
+        try (Connection slow = dataSource.getConnection()) {
+            // 낮은 id 를 먼저 받고 커밋은 늦게 (그룹 커밋 / 락 대기 등)
+            slow.setAutoCommit(false);
+            long lower = insertOutbox(new JdbcTemplate(new SingleConnectionDataSource(slow, true)));
+            long higher = insertOutbox(jdbcTemplate);
+            assertTrue(lower < higher);
+
+            relay.relay();
+            assertEquals(List.of(higher), publishedIds());
+
+            slow.commit();
+        }
+
+        relay.relay();
+        relay.relay();
+        List<Long> ids = publishedIds();
+        assertEquals(2, ids.size());
+        assertEquals(2, ids.stream().distinct().count());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_outbox WHERE published_at IS NULL", Integer.class));
+    }
+
+    private List<Long> publishedIds() {
+        return sink.recentEvents().stream().map(LedgerEvent::getOutboxId).toList();
+    }
+
+    private long insertOutbox(JdbcTemplate template) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        template.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO ledger_outbox (transaction_id, type, amount, status, created_at) " +
+                    "VALUES (0, 'DEPOSIT', 1000, 'COMPLETED', ?)", new String[]{"id"});
+            ps.setObject(1, LocalDateTime.now());
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
@@ -0,0 +1,75 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.exceptions.TooManyLoginAttemptsException;
+import com.eouil.bank.bankapi.metrics.SecurityMetrics;
+import com.eouil.bank.bankapi.security.LoginAttemptLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptLimiterTest {
+
+    @Mock private ReactiveStringRedisTemplate reactiveRedis;
+    @Mock private ReactiveValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(reactiveRedis.opsForValue()).thenReturn(valueOperations);
+        limiter = new LoginAttemptLimiter(reactiveRedis, new SecurityMetrics(registry),
+                60_000, 3, 10, 60_000, 1000, 200, 5, 60_000);
+    }
+
+    @Test
+    void repeatedFailuresWhileRedisDown_shouldLockEmailLocally() {
+        RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+        lenient().when(valueOperations.get(anyString())).thenReturn(Mono.error(down));
+        lenient().when(valueOperations.increment(anyString())).thenReturn(Mono.error(down));
+        lenient().when(reactiveRedis.expire(anyString(), any())).thenReturn(Mono.error(down));
+        lenient().when(valueOperations.set(anyString(), anyString(), any())).thenReturn(Mono.error(down));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.check(LoginAttemptLimiter.LOGIN, "Victim@example.com", "10.0.0." + i);
+            limiter.onFailure(LoginAttemptLimiter.LOGIN, "Victim@example.com", "10.0.0." + i);
+        }
+
+        // 대소문자만 다른 이메일도 같은 키, IP 가 달라도 이메일 잠금이 걸림
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> limiter.check(LoginAttemptLimiter.LOGIN, "victim@example.com", "10.0.0.99"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        // MFA 는 별도 카운터
+        assertDoesNotThrow(() -> limiter.check(LoginAttemptLimiter.MFA, "victim@example.com", "10.0.0.99"));
+
+        assertEquals(3, registry.counter("login_failures_total").count());
+        assertEquals(1, registry.counter("login_lockout_total").count());
+        assertEquals(1, registry.counter("login_throttled_total").count());
+    }
+
+    @Test
+    void lockSetByAnotherInstance_shouldBeHonoured() {
+        long lockedUntil = System.currentTimeMillis() + 30_000;
+        when(valueOperations.get("LL:login:email:victim@example.com")).thenReturn(Mono.just(String.valueOf(lockedUntil)));
+        when(valueOperations.get("LL:login:ip:10.0.0.1")).thenReturn(Mono.empty());
+
+        assertThrows(TooManyLoginAttemptsException.class,
+                () -> limiter.check(LoginAttemptLimiter.LOGIN, "victim@example.com", "10.0.0.1"));
+        // 두 번째부터는 로컬 잠금으로 거절 (Redis 조회 없음)
+        assertThrows(TooManyLoginAttemptsException.class,
+                () -> limiter.check(LoginAttemptLimiter.LOGIN, "victim@example.com", "10.0.0.1"));
+        verify(valueOperations, times(1)).get("LL:login:email:victim@example.com");
+    }
+}
@@ -0,0 +1,73 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.services.MfaSecretService;
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MfaSecretServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+
+    private final GoogleAuthenticator gAuth = new GoogleAuthenticator();
+    private MfaSecretService mfaSecretService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        MockEnvironment env = new MockEnvironment();
+        env.setActiveProfiles("local");
+        mfaSecretService = new MfaSecretService(userRepository, redisTemplate, listenerContainer, env, 60_000, 100);
+
+        user = new User();
+        user.setUserId("user-1");
+        user.setEmail("goorm@example.com");
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void sameCodeTwice_shouldBeRejectedAndSecretReadOnce() {
+        String secret = mfaSecretService.createSecret(user);
+        int code = gAuth.getTotpPassword(secret);
+
+        assertTrue(mfaSecretService.verify(user.getEmail(), code));
+        assertFalse(mfaSecretService.verify(user.getEmail(), code));
+        assertFalse(mfaSecretService.verify(user.getEmail(), (code + 1) % 1_000_000));
+
+        // createSecret 저장 1회 + 첫 검증 시 캐시 적재 1회, 이후 검증은 캐시
+        verify(userRepository, times(2)).findByEmail(user.getEmail());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void newSecret_shouldInvalidateCachedSecret() {
+        String first = mfaSecretService.createSecret(user);
+        assertTrue(mfaSecretService.verify(user.getEmail(), gAuth.getTotpPassword(first)));
+
+        String second = mfaSecretService.createSecret(user);
+        int oldCode = gAuth.getTotpPassword(first);
+        int newCode = gAuth.getTotpPassword(second);
+        // 두 시크릿의 코드가 우연히 같으면 확인 불가
+        assumeTrue(oldCode != newCode);
+
+        assertFalse(mfaSecretService.verify(user.getEmail(), oldCode));
+        assertTrue(mfaSecretService.verify(user.getEmail(), newCode));
+    }
+}
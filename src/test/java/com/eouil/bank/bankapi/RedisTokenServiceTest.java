@@ -0,0 +1,113 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.services.RedisTokenService;
+import com.eouil.bank.bankapi.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisTokenServiceTest {
+
+    @Mock private ReactiveStringRedisTemplate reactiveRedis;
+    @Mock private ReactiveValueOperations<String, String> valueOperations;
+    @Mock private RedisTemplate<String, String> redisTemplate;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+
+    private final JwtUtil jwtUtil = new JwtUtil("test-secret-key-test-secret-key-0123456789", 100);
+    private RedisTokenService redisTokenService;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(reactiveRedis.opsForValue()).thenReturn(valueOperations);
+        redisTokenService = new RedisTokenService(reactiveRedis, redisTemplate, listenerContainer, jwtUtil,
+                new SimpleMeterRegistry(), 1 << 16, 5, 200, 5, 60_000, 1000);
+    }
+
+    @Test
+    void logoutWhileRedisDown_shouldBlockLocallyAndReplayAfterRecovery() {
+        RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+        when(reactiveRedis.delete(anyString())).thenReturn(Mono.error(down));
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.error(down));
+        when(reactiveRedis.convertAndSend(anyString(), anyString())).thenReturn(Mono.error(down));
+
+        redisTokenService.revoke("user-1", "access-token", 60_000);
+
+        // Redis 에 못 올렸어도 이 인스턴스에서는 바로 차단, 리프레시 토큰도 무효
+        assertTrue(redisTokenService.isBlacklisted("access-token"));
+        assertNull(redisTokenService.getRefreshToken("user-1"));
+
+        when(reactiveRedis.delete(anyString())).thenReturn(Mono.just(1L));
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(reactiveRedis.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+
+        redisTokenService.resyncBlacklist();
+
+        String blacklistKey = "BL:" + jwtUtil.tokenHash("access-token");
+        verify(valueOperations, times(2)).set(eq(blacklistKey), eq("logout"), any(Duration.class));
+        verify(reactiveRedis, times(2)).delete("RT:user-1");
+
+        // 재전송 후에는 Redis 기준으로 조회
+        when(reactiveRedis.hasKey(blacklistKey)).thenReturn(Mono.just(true));
+        assertTrue(redisTokenService.isBlacklisted("access-token"));
+        verify(reactiveRedis).hasKey(blacklistKey);
+    }
+
+    @Test
+    void repeatedFailures_shouldOpenCircuitAndStopCallingRedis() {
+        AtomicInteger calls = new AtomicInteger();
+        when(reactiveRedis.hasKey(anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new RedisConnectionFailureException("down"));
+        }));
+
+        for (int i = 0; i < 20; i++) {
+            assertFalse(redisTokenService.isBlacklisted("token-" + i));
+        }
+
+        // failure-threshold(5) 이후로는 Redis 로 보내지 않음
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void resync_shouldSkipFailingKeyAndStaySynced() {
+        String legacyToken = "legacy.access.token";
+        String token = "access-token";
+        @SuppressWarnings("unchecked")
+        Cursor<String> keys = mock(Cursor.class);
+        when(keys.hasNext()).thenReturn(true, true, false);
+        when(keys.next()).thenReturn("BL:" + legacyToken, "BL:" + jwtUtil.tokenHash(token));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(keys);
+        // 예전 형식 키 이전 중 실패
+        when(redisTemplate.getExpire("BL:" + legacyToken, TimeUnit.MILLISECONDS))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(reactiveRedis.hasKey(anyString())).thenReturn(Mono.just(true));
+
+        redisTokenService.resyncBlacklist();
+
+        // 실패한 키 때문에 동기화가 깨지지 않음 → 필터에 없는 토큰은 Redis 를 거치지 않음
+        assertFalse(redisTokenService.isBlacklisted("other-token"));
+        verify(reactiveRedis, never()).hasKey(anyString());
+        assertTrue(redisTokenService.isBlacklisted(token));
+        assertTrue(redisTokenService.isBlacklisted(legacyToken));
+    }
+}
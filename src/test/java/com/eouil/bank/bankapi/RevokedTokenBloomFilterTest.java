@@ -0,0 +1,68 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.security.RevokedTokenBloomFilter;
+import com.eouil.bank.bankapi.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenBloomFilterTest {
+
+    private static final long ROTATION_MILLIS = 60_000;
+
+    private final JwtUtil jwtUtil = new JwtUtil("test-secret-key-test-secret-key-0123456789", 100);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final RevokedTokenBloomFilter filter = new RevokedTokenBloomFilter(1 << 16, 5, ROTATION_MILLIS, now::get);
+
+    @Test
+    void addedHash_shouldBeFoundAndOthersRejected() {
+        filter.add(hash("revoked"));
+
+        assertTrue(filter.mightContain(hash("revoked")));
+        // 65536비트 / 해시 5개에 한 건이면 오탐은 사실상 없음
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(hash("active-" + i)));
+        }
+    }
+
+    @Test
+    void hashAddedJustBeforeRotation_shouldSurviveOneGeneration() {
+        now.addAndGet(ROTATION_MILLIS - 1);
+        filter.add(hash("revoked"));
+
+        // 세대 교체 직후에도 이전 세대에서 찾음 (access token 이 아직 유효할 수 있는 구간)
+        now.addAndGet(1);
+        assertTrue(filter.mightContain(hash("revoked")));
+        filter.add(hash("revoked-after"));
+
+        // 한 번 더 교체되면 두 세대 전 해시는 빠지고 직전 세대 해시만 남음
+        now.addAndGet(ROTATION_MILLIS);
+        assertFalse(filter.mightContain(hash("revoked")));
+        assertTrue(filter.mightContain(hash("revoked-after")));
+    }
+
+    @Test
+    void noRotationWithinWindow() {
+        filter.add(hash("revoked"));
+
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(ROTATION_MILLIS / 10 - 1);
+            assertTrue(filter.mightContain(hash("revoked")));
+        }
+    }
+
+    @Test
+    void nullOrEmptyHash_shouldBeIgnored() {
+        assertDoesNotThrow(() -> filter.add(null));
+        assertDoesNotThrow(() -> filter.add(""));
+
+        assertFalse(filter.mightContain(null));
+        assertFalse(filter.mightContain(""));
+    }
+
+    private String hash(String token) {
+        return jwtUtil.tokenHash(token);
+    }
+}
@@ -0,0 +1,64 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.logging.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void validParent_shouldContinueTraceWithNewSpan() {
+        String traceparent = TraceContext.start(PARENT);
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get(TraceContext.TRACE_ID));
+        assertNotEquals("00f067aa0ba902b7", MDC.get(TraceContext.SPAN_ID));
+        assertTrue(traceparent.matches("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01"), traceparent);
+        assertEquals(traceparent, TraceContext.current());
+    }
+
+    @Test
+    void invalidParent_shouldStartNewTrace() {
+        for (String invalid : new String[]{
+                null,
+                "garbage",
+                "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+                "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+                "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+                PARENT + "-extra"}) {
+            TraceContext.start(invalid);
+            assertTrue(MDC.get(TraceContext.TRACE_ID).matches("[0-9a-f]{32}"));
+            assertNotEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get(TraceContext.TRACE_ID), invalid);
+        }
+    }
+
+    @Test
+    void wrappedTask_shouldRunWithSubmitterContext() throws Exception {
+        TraceContext.start(PARENT);
+        MDC.put(TraceContext.USER_ID, "user-1");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String seen = executor.submit(TraceContext.wrap(
+                    () -> MDC.get(TraceContext.TRACE_ID) + "/" + MDC.get(TraceContext.USER_ID))::get).get();
+            assertEquals("4bf92f3577b34da6a3ce929d0e0e4736/user-1", seen);
+            // 작업이 끝나면 워커 스레드 MDC 는 원래대로
+            assertNull(executor.submit(() -> MDC.get(TraceContext.TRACE_ID)).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
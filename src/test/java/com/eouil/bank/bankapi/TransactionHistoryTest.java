@@ -0,0 +1,253 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.controllers.TransactionController;
+import com.eouil.bank.bankapi.domains.TransactionType;
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.dtos.requests.TransactionHistorySearchRequest;
+import com.eouil.bank.bankapi.dtos.responses.TransactionPageResponse;
+import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.exceptions.GlobalExceptionHandler;
+import com.eouil.bank.bankapi.exceptions.InvalidCursorException;
+import com.eouil.bank.bankapi.repositories.TransactionCursor;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// 커서 기반 거래내역 조회 / NDJSON 스트리밍 (H2 + 실제 조회 SQL)
+class TransactionHistoryTest extends LedgerIntegrationTest {
+
+    private static final String USER_ID = "history-user";
+    private static final String MY_ACCOUNT = "10000000000021";
+    private static final String MY_SAVINGS = "10000000000022";
+    private static final String OTHER_ACCOUNT = "10000000000029";
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "history@example.com");
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        User user = saveUser(USER_ID, "내역", "history@example.com");
+        User other = saveUser("history-other", "상대", "other@example.com");
+        saveAccount(MY_ACCOUNT, user, new BigDecimal("100000"));
+        saveAccount(MY_SAVINGS, user, new BigDecimal("100000"));
+        saveAccount(OTHER_ACCOUNT, other, new BigDecimal("100000"));
+    }
+
+    @Test
+    void keysetPaging_shouldVisitEveryRowOnceAcrossEqualCreatedAt() {
+        // 같은 시각 거래 5건 + 이전 시각 2건 → 페이지 경계가 같은 created_at 안에 걸림
+        for (int i = 0; i < 5; i++) {
+            insert(MY_ACCOUNT, OTHER_ACCOUNT, TransactionType.TRANSFER, BASE);
+        }
+        insert(null, MY_ACCOUNT, TransactionType.DEPOSIT, BASE.minusMinutes(1));
+        insert(MY_ACCOUNT, null, TransactionType.WITHDRAWAL, BASE.minusMinutes(2));
+
+        List<TransactionResponseDTO> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        while (true) {
+            TransactionPageResponse page = transactionService.getTransactionHistory(principal, search(cursor, 2));
+            visited.addAll(page.getTransactions());
+            pages++;
+            if (!page.isHasNext()) {
+                assertNull(page.getNextCursor());
+                break;
+            }
+            assertEquals(2, page.getTransactions().size());
+            assertNotNull(page.getNextCursor());
+            cursor = page.getNextCursor();
+        }
+
+        assertEquals(4, pages);
+        assertEquals(7, visited.size());
+        assertEquals(7, ids(visited).stream().distinct().count());
+        assertEquals(ids(sortedNewestFirst(visited)), ids(visited));
+    }
+
+    @Test
+    void exactPageBoundary_shouldNotReportNextPage() {
+        for (int i = 0; i < 3; i++) {
+            insert(MY_ACCOUNT, OTHER_ACCOUNT, TransactionType.TRANSFER, BASE.minusMinutes(i));
+        }
+
+        TransactionPageResponse page = transactionService.getTransactionHistory(principal, search(null, 3));
+
+        assertEquals(3, page.getTransactions().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void typeAndDateFilters_shouldNarrowResults() {
+        insert(null, MY_ACCOUNT, TransactionType.DEPOSIT, BASE.minusDays(3));
+        insert(null, MY_ACCOUNT, TransactionType.DEPOSIT, BASE);
+        insert(MY_ACCOUNT, null, TransactionType.WITHDRAWAL, BASE);
+        insert(null, MY_ACCOUNT, TransactionType.DEPOSIT, BASE.plusDays(1));
+
+        TransactionHistorySearchRequest deposits = search(null, 10);
+        deposits.setType(TransactionType.DEPOSIT);
+        assertEquals(3, transactionService.getTransactionHistory(principal, deposits).getTransactions().size());
+
+        // 날짜 범위는 양 끝 포함
+        TransactionHistorySearchRequest sameDay = search(null, 10);
+        sameDay.setFrom(BASE.toLocalDate());
+        sameDay.setTo(BASE.toLocalDate());
+        List<TransactionResponseDTO> rows = transactionService.getTransactionHistory(principal, sameDay).getTransactions();
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(tx -> tx.getCreatedAt().toLocalDate().equals(BASE.toLocalDate())));
+
+        TransactionHistorySearchRequest combined = search(null, 10);
+        combined.setType(TransactionType.DEPOSIT);
+        combined.setFrom(BASE.toLocalDate().minusDays(3));
+        combined.setTo(LocalDate.from(BASE));
+        assertEquals(2, transactionService.getTransactionHistory(principal, combined).getTransactions().size());
+    }
+
+    @Test
+    void cursor_shouldRoundTripAndRejectGarbage() {
+        TransactionCursor cursor = new TransactionCursor(BASE.withNano(123_000_000), 42L);
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(42L, decoded.getTransactionId());
+
+        assertThrows(InvalidCursorException.class, () -> TransactionCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class,
+                () -> transactionService.getTransactionHistory(principal, search("%%%", 10)));
+
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleInvalidCursor(new InvalidCursorException());
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void stream_shouldWriteOneJsonLinePerTransactionNewestFirst() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            insert(MY_ACCOUNT, OTHER_ACCOUNT, TransactionType.TRANSFER, BASE.minusMinutes(i % 5));
+        }
+        TransactionController controller =
+                new TransactionController(transactionService, mock(IdempotencyService.class), objectMapper);
+
+        StreamingResponseBody body = controller.streamTransactionHistory(new TransactionHistorySearchRequest(), principal).getBody();
+        // 응답 스트림처럼 닫힌 뒤에는 쓸 수 없는 스트림 (행마다 닫히면 두 번째 행에서 실패)
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertFalse(closed, "스트리밍 중 응답 스트림이 닫힘");
+                super.write(b, off, len);
+            }
+
+            @Override
+            public void write(int b) {
+                assertFalse(closed, "스트리밍 중 응답 스트림이 닫힘");
+                super.write(b);
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+        body.writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(25, lines.length);
+        List<TransactionResponseDTO> streamed = new ArrayList<>();
+        for (String line : lines) {
+            streamed.add(objectMapper.readValue(line, TransactionResponseDTO.class));
+        }
+        assertEquals(ids(sortedNewestFirst(streamed)), ids(streamed));
+    }
+
+    @Test
+    void transferBetweenOwnAccounts_shouldAppearOnce() {
+        insert(MY_ACCOUNT, MY_SAVINGS, TransactionType.TRANSFER, BASE);
+        insert(OTHER_ACCOUNT, MY_ACCOUNT, TransactionType.TRANSFER, BASE.minusMinutes(1));
+        insert(MY_SAVINGS, OTHER_ACCOUNT, TransactionType.TRANSFER, BASE.minusMinutes(2));
+
+        // 출금 쪽 / 입금 쪽 양쪽 조건에 모두 걸리는 본인 계좌 간 이체도 한 번만
+        List<TransactionResponseDTO> page = transactionService.getTransactionHistory(principal, search(null, 10)).getTransactions();
+        assertEquals(3, page.size());
+        assertEquals(3, ids(page).stream().distinct().count());
+        assertEquals(MY_SAVINGS, page.get(0).getToAccountNumber());
+
+        assertEquals(ids(page), ids(transactionService.getTransactions(principal)));
+    }
+
+    @Test
+    void pagesAcrossIncomingAndOutgoingBranches_shouldMergeInOrder() {
+        // 입금 / 출금 / 본인 계좌 간 / 다른 사용자끼리 거래를 섞어서 기록 (일부는 같은 시각)
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime createdAt = BASE.minusMinutes(i / 2);
+            switch (i % 4) {
+                case 0 -> insert(MY_ACCOUNT, OTHER_ACCOUNT, TransactionType.TRANSFER, createdAt);
+                case 1 -> insert(OTHER_ACCOUNT, MY_SAVINGS, TransactionType.TRANSFER, createdAt);
+                case 2 -> insert(null, MY_ACCOUNT, TransactionType.DEPOSIT, createdAt);
+                default -> insert(MY_SAVINGS, MY_ACCOUNT, TransactionType.TRANSFER, createdAt);
+            }
+            expected.add(lastInsertedId());
+        }
+        insert(OTHER_ACCOUNT, null, TransactionType.WITHDRAWAL, BASE);
+
+        // 한 페이지(3건)보다 한쪽 갈래에 더 많은 행이 몰려도 합친 순서가 전체 정렬과 같아야 함
+        List<TransactionResponseDTO> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageResponse page = transactionService.getTransactionHistory(principal, search(cursor, 3));
+            visited.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(12, visited.size());
+        assertEquals(ids(sortedNewestFirst(visited)), ids(visited));
+        assertEquals(expected.stream().sorted().toList(), ids(visited).stream().sorted().toList());
+    }
+
+    private long lastInsertedId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(transaction_id) FROM transaction", Long.class);
+    }
+
+    private TransactionHistorySearchRequest search(String cursor, int size) {
+        TransactionHistorySearchRequest search = new TransactionHistorySearchRequest();
+        search.setCursor(cursor);
+        search.setSize(size);
+        return search;
+    }
+
+    private void insert(String from, String to, TransactionType type, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO transaction (from_account_number, to_account_number, type, amount, memo, status, balance_after, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, 'COMPLETED', ?, ?)",
+                from, to, type.name(), new BigDecimal("1000"), type.name(), new BigDecimal("100000"), createdAt);
+    }
+
+    private List<Long> ids(List<TransactionResponseDTO> rows) {
+        return rows.stream().map(TransactionResponseDTO::getTransactionID).toList();
+    }
+
+    private List<TransactionResponseDTO> sortedNewestFirst(List<TransactionResponseDTO> rows) {
+        return rows.stream()
+                .sorted(Comparator.comparing(TransactionResponseDTO::getCreatedAt)
+                        .thenComparing(TransactionResponseDTO::getTransactionID)
+                        .reversed())
+                .toList();
+    }
+}
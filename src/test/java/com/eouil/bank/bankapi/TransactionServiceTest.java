@@ -1,20 +1,30 @@
 package com.eouil.bank.bankapi;
 
-import com.eouil.bank.bankapi.domains.*;
+import com.eouil.bank.bankapi.concurrency.AccountLockManager;
+import com.eouil.bank.bankapi.concurrency.DeadlockRetryExecutor;
+import com.eouil.bank.bankapi.concurrency.GroupCommitExecutor;
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
+import com.eouil.bank.bankapi.domains.LedgerEntry;
+import com.eouil.bank.bankapi.domains.TransactionStatus;
+import com.eouil.bank.bankapi.domains.TransactionType;
 import com.eouil.bank.bankapi.dtos.requests.DepositRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.TransferRequestDTO;
 import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
 import com.eouil.bank.bankapi.dtos.responses.TransactionResponseDTO;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository;
+import com.eouil.bank.bankapi.repositories.AccountJdbcRepository.AccountSnapshot;
 import com.eouil.bank.bankapi.repositories.AccountRepository;
 import com.eouil.bank.bankapi.repositories.TransactionJdbcRepository;
-import com.eouil.bank.bankapi.repositories.TransactionRepository;
+import com.eouil.bank.bankapi.repositories.TransactionQueryRepository;
 import com.eouil.bank.bankapi.repositories.UserRepository;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.AccountSummaryCache;
+import com.eouil.bank.bankapi.services.AlertService;
 import com.eouil.bank.bankapi.services.TransactionService;
-import com.eouil.bank.bankapi.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.MockedStatic;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,348 +33,211 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+// 조건부 UPDATE(JDBC) 경로 단위 테스트 - 락 / 그룹 커밋은 전달받은 작업을 그대로 실행
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
 
+    private static final String USER_ID = "user-123";
+    private static final String FROM = "10000000000001";
+    private static final String TO = "10000000000002";
+
     @Mock private UserRepository userRepository;
     @Mock private AccountRepository accountRepository;
+    @Mock private AccountJdbcRepository accountJdbcRepository;
     @Mock private TransactionJdbcRepository transactionRepository;
-    @InjectMocks private TransactionService transactionService;
-    @Mock private TransactionRepository transactionJPARepository;
+    @Mock private TransactionQueryRepository transactionQueryRepository;
+    @Mock private AlertService alertService;
+    @Mock private DeadlockRetryExecutor deadlockRetryExecutor;
+    @Mock private GroupCommitExecutor groupCommitExecutor;
+    @Mock private AccountLockManager accountLockManager;
+    @Mock private HotAccountRegistry hotAccountRegistry;
+    @Mock private AccountSummaryCache accountSummaryCache;
 
-    private final String token = "mock.jwt.token";
-    private final String userId = "user-123";
-    private User mockUser;
-    private final JwtUtil jwtUtil;
+    @InjectMocks private TransactionService transactionService;
 
-    TransactionServiceTest(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
-    }
+    private final AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "user@example.com");
 
     @BeforeEach
-    void setup() {
-        mockUser = new User();
-        mockUser.setUserId(userId);
+    void setUp() {
+        lenient().when(accountLockManager.withLocks(any(), any(String[].class)))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(groupCommitExecutor.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(accountJdbcRepository.sweepBuckets(anyString())).thenReturn(BigDecimal.ZERO);
     }
 
     @Test
-    void testTransfer_userNotFound_shouldThrowException() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            TransferRequestDTO request = new TransferRequestDTO("111-222", "333-444", new BigDecimal("10000"), "메모");
-            when(userRepository.findById(userId)).thenReturn(Optional.empty());
-
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    transactionService.transfer(request, token)
-            );
-
-            System.out.println("결과: " + exception.getMessage());
-            assertEquals("User not found", exception.getMessage());
-        }
+    void transfer_success() {
+        when(accountJdbcRepository.transfer(FROM, TO, USER_ID, new BigDecimal("10000"))).thenReturn(true);
+        when(accountJdbcRepository.findBalance(FROM)).thenReturn(new BigDecimal("40000"));
+
+        TransactionResponseDTO response = transactionService.transfer(transferRequest("10000"), principal);
+
+        assertEquals("TRANSFER", response.getType());
+        assertEquals(FROM, response.getFromAccountNumber());
+        assertEquals(TO, response.getToAccountNumber());
+        assertEquals(new BigDecimal("10000"), response.getAmount());
+        assertEquals("친구에게 송금", response.getMemo());
+        assertEquals(new BigDecimal("40000"), response.getBalanceAfter());
+        assertEquals("COMPLETED", response.getStatus());
+
+        ArgumentCaptor<LedgerEntry> saved = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(transactionRepository).save(saved.capture());
+        assertEquals(TransactionType.TRANSFER, saved.getValue().getType());
+        verify(accountSummaryCache).evictAccountsAfterCommit(FROM, TO);
     }
 
     @Test
-    void testTransfer_fromAccountNotFound_shouldThrowException() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            TransferRequestDTO request = new TransferRequestDTO("111-222", "333-444", new BigDecimal("10000"), "메모");
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.empty());
+    void transfer_toAccountNotFound_shouldThrowException() {
+        when(accountJdbcRepository.findSnapshot(FROM)).thenReturn(Optional.of(snapshot(FROM, USER_ID, "50000")));
+        when(accountJdbcRepository.findSnapshot(TO)).thenReturn(Optional.empty());
 
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    transactionService.transfer(request, token)
-            );
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(transferRequest("10000"), principal));
 
-            System.out.println("결과: " + exception.getMessage());
-            assertEquals("From Account not found", exception.getMessage());
-        }
+        assertEquals("To Account not found", exception.getMessage());
+        verify(transactionRepository, never()).save(any(LedgerEntry.class));
     }
 
     @Test
-    void testTransfer_toAccountNotFound_shouldThrowException() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
+    void transfer_fromAccountNotFound_shouldThrowException() {
+        when(accountJdbcRepository.findSnapshot(FROM)).thenReturn(Optional.empty());
 
-            TransferRequestDTO request = new TransferRequestDTO("111-222", "333-444", new BigDecimal("10000"), "메모");
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(transferRequest("10000"), principal));
 
-            Account from = new Account();
-            from.setAccountNumber("111-222");
-            from.setBalance(new BigDecimal("50000"));
-            from.setUser(mockUser);
-
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.of(from));
-            when(accountRepository.findByAccountNumber("333-444")).thenReturn(Optional.empty());
-
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    transactionService.transfer(request, token)
-            );
-
-            System.out.println("결과: " + exception.getMessage());
-            assertEquals("To Account not found", exception.getMessage());
-        }
+        assertEquals("From Account not found", exception.getMessage());
     }
 
     @Test
-    void testTransfer_unauthorizedAccess_shouldThrowSecurityException() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            TransferRequestDTO request = new TransferRequestDTO("111-222", "333-444", new BigDecimal("10000"), "메모");
-
-            User otherUser = new User();
-            otherUser.setUserId("다른유저");
-
-            Account from = new Account();
-            from.setAccountNumber("111-222");
-            from.setBalance(new BigDecimal("50000"));
-            from.setUser(otherUser);
-
-            Account to = new Account();
-            to.setAccountNumber("333-444");
-            to.setBalance(new BigDecimal("10000"));
-            to.setUser(mockUser);
+    void transfer_unauthorizedAccess_shouldThrowSecurityException() {
+        when(accountJdbcRepository.findSnapshot(FROM)).thenReturn(Optional.of(snapshot(FROM, "다른유저", "50000")));
+        when(accountJdbcRepository.findSnapshot(TO)).thenReturn(Optional.of(snapshot(TO, USER_ID, "10000")));
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.of(from));
-            when(accountRepository.findByAccountNumber("333-444")).thenReturn(Optional.of(to));
+        SecurityException exception = assertThrows(SecurityException.class,
+                () -> transactionService.transfer(transferRequest("10000"), principal));
 
-            SecurityException exception = assertThrows(SecurityException.class, () ->
-                    transactionService.transfer(request, token)
-            );
-
-            System.out.println("결과: " + exception.getMessage());
-            assertEquals("Unauthorized access to account", exception.getMessage());
-        }
+        assertEquals("Unauthorized access to account", exception.getMessage());
     }
 
     @Test
-    void testTransfer_insufficientFunds_shouldThrowRuntimeException() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            TransferRequestDTO request = new TransferRequestDTO("111-222", "333-444", new BigDecimal("100000"), "메모");
-
-            Account from = new Account();
-            from.setAccountNumber("111-222");
-            from.setBalance(new BigDecimal("5000"));
-            from.setUser(mockUser);
-
-            Account to = new Account();
-            to.setAccountNumber("333-444");
-            to.setBalance(new BigDecimal("10000"));
-            to.setUser(mockUser);
+    void transfer_insufficientFunds_shouldThrowRuntimeException() {
+        when(accountJdbcRepository.findSnapshot(FROM)).thenReturn(Optional.of(snapshot(FROM, USER_ID, "5000")));
+        when(accountJdbcRepository.findSnapshot(TO)).thenReturn(Optional.of(snapshot(TO, USER_ID, "10000")));
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.of(from));
-            when(accountRepository.findByAccountNumber("333-444")).thenReturn(Optional.of(to));
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(transferRequest("100000"), principal));
 
-            RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                    transactionService.transfer(request, token)
-            );
-
-            System.out.println("예외 메시지: " + exception.getMessage());
-            assertEquals("Insufficient funds", exception.getMessage());
-        }
+        assertEquals("Insufficient funds", exception.getMessage());
+        verify(transactionRepository, never()).save(any(LedgerEntry.class));
     }
 
     @Test
-    void testTransfer_success() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            TransferRequestDTO request = new TransferRequestDTO();
-            request.setFromAccountNumber("111-222");
-            request.setToAccountNumber("333-444");
-            request.setAmount(new BigDecimal("10000"));
-            request.setMemo("친구에게 송금");
-
-            User user = new User();
-            user.setUserId(userId);
-
-            Account fromAccount = new Account();
-            fromAccount.setAccountNumber("111-222");
-            fromAccount.setBalance(new BigDecimal("50000"));
-            fromAccount.setUser(user);
-
-            Account toAccount = new Account();
-            toAccount.setAccountNumber("333-444");
-            toAccount.setBalance(new BigDecimal("20000"));
-            toAccount.setUser(new User());
-
-            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.of(fromAccount));
-            when(accountRepository.findByAccountNumber("333-444")).thenReturn(Optional.of(toAccount));
-
-            TransactionResponseDTO response = transactionService.transfer(request, token);
-
-            System.out.println("=== Transaction 결과 ===");
-            System.out.println("From Account: " + response.getFromAccountNumber());
-            System.out.println("To Account: " + response.getToAccountNumber());
-            System.out.println("Amount: " + response.getAmount());
-            System.out.println("Memo: " + response.getMemo());
-            System.out.println("Balance After: " + response.getBalanceAfter());
-            System.out.println("Status: " + response.getStatus());
-            System.out.println("Created At: " + response.getCreatedAt());
-
-            assertEquals("TRANSFER", response.getType());
-            assertEquals("111-222", response.getFromAccountNumber());
-            assertEquals("333-444", response.getToAccountNumber());
-            assertEquals(new BigDecimal("10000"), response.getAmount());
-            assertEquals("친구에게 송금", response.getMemo());
-            assertEquals(new BigDecimal("40000"), response.getBalanceAfter());
-            assertEquals("COMPLETED", response.getStatus());
-
-            verify(accountRepository).save(fromAccount);
-            verify(accountRepository).save(toAccount);
-            verify(transactionRepository).save(any(Transaction.class));
-        }
+    void transfer_toSameAccount_shouldThrowException() {
+        TransferRequestDTO request = new TransferRequestDTO(FROM, FROM, new BigDecimal("10000"), "메모");
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(request, principal));
+
+        assertEquals("Cannot transfer to the same account", exception.getMessage());
+        verify(accountJdbcRepository, never()).transfer(any(), any(), any(), any());
     }
 
     @Test
-    void testWithdraw_success() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            WithdrawRequestDTO request = new WithdrawRequestDTO();
-            request.setFromAccountNumber("111-222");
-            request.setAmount(new BigDecimal("3000"));
+    void withdraw_success() {
+        when(accountJdbcRepository.debit(FROM, USER_ID, new BigDecimal("3000"))).thenReturn(true);
+        when(accountJdbcRepository.findBalance(FROM)).thenReturn(new BigDecimal("7000"));
 
-            Account from = new Account();
-            from.setAccountNumber("111-222");
-            from.setBalance(new BigDecimal("10000"));
-            from.setUser(mockUser);
+        TransactionResponseDTO response = transactionService.withdraw(withdrawRequest("3000"), principal);
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("111-222")).thenReturn(Optional.of(from));
+        assertEquals("WITHDRAWAL", response.getType());
+        assertEquals(FROM, response.getFromAccountNumber());
+        assertEquals(new BigDecimal("3000"), response.getAmount());
+        assertEquals(new BigDecimal("7000"), response.getBalanceAfter());
+        assertEquals("COMPLETED", response.getStatus());
 
-            TransactionResponseDTO response = transactionService.withdraw(request, token);
+        verify(transactionRepository).save(any(LedgerEntry.class));
+        verifyNoInteractions(alertService);
+    }
 
-            System.out.println("출금 성공 결과: " + response);
-            System.out.println("남은 잔액: " + from.getBalance());
+    @Test
+    void withdraw_largeAmount_shouldRecordAlertInsideTransaction() {
+        when(accountJdbcRepository.debit(FROM, USER_ID, new BigDecimal("1000000"))).thenReturn(true);
+        when(accountJdbcRepository.findBalance(FROM)).thenReturn(new BigDecimal("500000"));
 
-            assertEquals("WITHDRAWAL", response.getType());
-            assertEquals("111-222", response.getFromAccountNumber());
-            assertEquals(new BigDecimal("3000"), response.getAmount());
-            assertEquals(new BigDecimal("7000"), response.getBalanceAfter());
-            assertEquals("COMPLETED", response.getStatus());
+        transactionService.withdraw(withdrawRequest("1000000"), principal);
 
-            verify(accountRepository).save(from);
-            verify(transactionRepository).save(any(Transaction.class));
-        }
+        verify(alertService).recordSuspiciousWithdrawal("user@example.com", FROM, new BigDecimal("1000000"));
     }
 
     @Test
-    void testDeposit_success() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
+    void deposit_success() {
+        when(accountJdbcRepository.credit(TO, USER_ID, new BigDecimal("5000"))).thenReturn(true);
+        when(accountJdbcRepository.findBalance(TO)).thenReturn(new BigDecimal("20000"));
 
-            DepositRequestDTO request = new DepositRequestDTO();
-            request.setToAccountNumber("333-444");
-            request.setAmount(new BigDecimal("5000"));
+        DepositRequestDTO request = new DepositRequestDTO();
+        request.setToAccountNumber(TO);
+        request.setAmount(new BigDecimal("5000"));
 
-            Account to = new Account();
-            to.setAccountNumber("333-444");
-            to.setBalance(new BigDecimal("15000"));
-            to.setUser(mockUser);
+        TransactionResponseDTO response = transactionService.deposit(request, principal);
 
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(accountRepository.findByAccountNumber("333-444")).thenReturn(Optional.of(to));
+        assertEquals("DEPOSIT", response.getType());
+        assertEquals(TO, response.getToAccountNumber());
+        assertEquals(new BigDecimal("5000"), response.getAmount());
+        assertEquals(new BigDecimal("20000"), response.getBalanceAfter());
+        assertEquals("COMPLETED", response.getStatus());
 
-            TransactionResponseDTO response = transactionService.deposit(request, token);
+        verify(transactionRepository).save(any(LedgerEntry.class));
+    }
 
-            System.out.println("입금 성공 결과: " + response);
-            System.out.println("남은 잔액: " + to.getBalance());
+    @Test
+    void getTransactions_success() {
+        // 조회 쿼리에서 응답 컬럼만 바로 매핑
+        TransactionResponseDTO withdrawal = TransactionResponseDTO.builder()
+                .fromAccountNumber(FROM)
+                .type(TransactionType.WITHDRAWAL.name())
+                .amount(new BigDecimal("5000"))
+                .memo("출금")
+                .status(TransactionStatus.COMPLETED.name())
+                .balanceAfter(new BigDecimal("10000"))
+                .createdAt(LocalDateTime.now())
+                .build();
+        TransactionResponseDTO deposit = TransactionResponseDTO.builder()
+                .toAccountNumber(FROM)
+                .type(TransactionType.DEPOSIT.name())
+                .amount(new BigDecimal("2000"))
+                .memo("입금")
+                .status(TransactionStatus.COMPLETED.name())
+                .balanceAfter(new BigDecimal("12000"))
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(transactionQueryRepository.findAll(USER_ID)).thenReturn(List.of(withdrawal, deposit));
+
+        List<TransactionResponseDTO> result = transactionService.getTransactions(principal);
+
+        assertEquals(2, result.size());
+        assertEquals("출금", result.get(0).getMemo());
+        assertEquals("DEPOSIT", result.get(1).getType());
+        verifyNoInteractions(userRepository, accountRepository);
+    }
 
-            assertEquals("DEPOSIT", response.getType());
-            assertEquals("333-444", response.getToAccountNumber());
-            assertEquals(new BigDecimal("5000"), response.getAmount());
-            assertEquals(new BigDecimal("20000"), response.getBalanceAfter());
-            assertEquals("COMPLETED", response.getStatus());
+    private TransferRequestDTO transferRequest(String amount) {
+        return new TransferRequestDTO(FROM, TO, new BigDecimal(amount), "친구에게 송금");
+    }
 
-            verify(accountRepository).save(to);
-            verify(transactionRepository).save(any(Transaction.class));
-        }
+    private WithdrawRequestDTO withdrawRequest(String amount) {
+        WithdrawRequestDTO request = new WithdrawRequestDTO();
+        request.setFromAccountNumber(FROM);
+        request.setAmount(new BigDecimal(amount));
+        return request;
     }
 
-    @Test
-    void testGetTransactions_success() {
-        try (MockedStatic<JwtUtil> mockedStatic = mockStatic(JwtUtil.class)) {
-            mockedStatic.when(() -> jwtUtil.validateTokenAndGetUserId(token)).thenReturn(userId);
-
-            //사용자
-            when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-
-            // 계좌 하나
-            Account account1 = new Account();
-            account1.setAccountNumber("111-222");
-            account1.setUser(mockUser);
-
-            when(accountRepository.findByUser(mockUser)).thenReturn(List.of(account1));
-
-            // 트랜잭션 3개
-            Transaction tx1 = Transaction.builder()
-                    .fromAccount(account1)
-                    .type(TransactionType.WITHDRAWAL)
-                    .amount(new BigDecimal("5000"))
-                    .memo("출금 1")
-                    .status(TransactionStatus.COMPLETED)
-                    .balanceAfter(new BigDecimal("10000"))
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            Transaction tx2 = Transaction.builder()
-                    .fromAccount(account1)
-                    .type(TransactionType.WITHDRAWAL)
-                    .amount(new BigDecimal("3000"))
-                    .memo("출금 2")
-                    .status(TransactionStatus.COMPLETED)
-                    .balanceAfter(new BigDecimal("7000"))
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            Transaction tx3 = Transaction.builder()
-                    .toAccount(account1)
-                    .type(TransactionType.DEPOSIT)
-                    .amount(new BigDecimal("2000"))
-                    .memo("입금")
-                    .status(TransactionStatus.COMPLETED)
-                    .balanceAfter(new BigDecimal("9000"))
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            when(transactionJPARepository.findByAccountNumber("111-222")).thenReturn(List.of(tx1, tx2, tx3));
-
-            //호출
-            List<TransactionResponseDTO> result = transactionService.getTransactions(token);
-
-            //검증
-            assertEquals(3, result.size());
-
-            TransactionResponseDTO r1 = result.get(0);
-            assertEquals("출금 1", r1.getMemo());
-            assertEquals("WITHDRAWAL", r1.getType());
-            assertEquals(new BigDecimal("5000"), r1.getAmount());
-
-            TransactionResponseDTO r2 = result.get(1);
-            assertEquals("출금 2", r2.getMemo());
-            assertEquals(new BigDecimal("3000"), r2.getAmount());
-
-            TransactionResponseDTO r3 = result.get(2);
-            assertEquals("입금", r3.getMemo());
-            assertEquals("DEPOSIT", r3.getType());
-            assertEquals(new BigDecimal("2000"), r3.getAmount());
-
-            System.out.println("총 거래 건수: " + result.size());
-            result.forEach(tx -> {
-                System.out.println("- [" + tx.getType() + "] " + tx.getMemo() + " | 금액: " + tx.getAmount());
-            });
-        }
+    private AccountSnapshot snapshot(String accountNumber, String userId, String balance) {
+        return new AccountSnapshot(accountNumber, userId, new BigDecimal(balance));
     }
 }
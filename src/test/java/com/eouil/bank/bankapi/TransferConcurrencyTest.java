@@ -0,0 +1,171 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.concurrency.HotAccountRegistry;
+import com.eouil.bank.bankapi.domains.User;
+import com.eouil.bank.bankapi.dtos.requests.TransferRequestDTO;
+import com.eouil.bank.bankapi.dtos.requests.WithdrawRequestDTO;
+import com.eouil.bank.bankapi.security.AuthenticatedUser;
+import com.eouil.bank.bankapi.services.AlertService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A→B, B→A 이체를 동시에 대량으로 날려도 데드락 없이 끝나고 돈이 새지 않는지 확인
+class TransferConcurrencyTest extends LedgerIntegrationTest {
+
+    private static final String USER_ID = "concurrency-user";
+    private static final String ACCOUNT_A = "10000000000001";
+    private static final String ACCOUNT_B = "10000000000002";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000");
+    private static final int TRANSFERS_PER_DIRECTION = 2000;
+
+    private final AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "concurrency@example.com");
+
+    @Autowired private HotAccountRegistry hotAccountRegistry;
+
+    @MockBean private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        User user = saveUser(USER_ID, "동시성", "concurrency@example.com");
+        saveAccount(ACCOUNT_A, user, INITIAL_BALANCE);
+        saveAccount(ACCOUNT_B, user, INITIAL_BALANCE);
+        // 앞선 테스트에서 캐시된 버킷 수 제거
+        hotAccountRegistry.invalidate(ACCOUNT_B);
+    }
+
+    @Test
+    void opposingTransfers_shouldNotDeadlockOrLoseMoney() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS_PER_DIRECTION; i++) {
+            futures.add(executor.submit(() -> transactionService.transfer(
+                    new TransferRequestDTO(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, "A→B"), principal)));
+            futures.add(executor.submit(() -> transactionService.transfer(
+                    new TransferRequestDTO(ACCOUNT_B, ACCOUNT_A, BigDecimal.ONE, "B→A"), principal)));
+        }
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        BigDecimal balanceA = balance(ACCOUNT_A);
+        BigDecimal balanceB = balance(ACCOUNT_B);
+
+        assertEquals(0, balanceA.add(balanceB).compareTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(2))));
+        assertEquals(0, balanceA.compareTo(INITIAL_BALANCE));
+        assertEquals(0, balanceB.compareTo(INITIAL_BALANCE));
+
+        assertEquals(TRANSFERS_PER_DIRECTION * 2, count("transaction"));
+
+        // 원장 한 건당 outbox 한 건 (같은 트랜잭션)
+        assertEquals(TRANSFERS_PER_DIRECTION * 2, count("ledger_outbox"));
+    }
+
+    @Test
+    void hotAccountCredits_shouldLandInBucketsAndBeSweptOnWithdraw() throws Exception {
+        accountJdbcRepository.createBuckets(ACCOUNT_B, 8);
+        accountJdbcRepository.updateBucketCount(ACCOUNT_B, 8);
+        hotAccountRegistry.invalidate(ACCOUNT_B);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(executor.submit(() -> transactionService.transfer(
+                    new TransferRequestDTO(ACCOUNT_A, ACCOUNT_B, BigDecimal.ONE, "정산"), principal)));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // 입금은 계좌 행이 아니라 버킷 행에만 반영
+        assertEquals(0, balance(ACCOUNT_B).compareTo(INITIAL_BALANCE));
+        assertEquals(0, accountJdbcRepository.sumBuckets(ACCOUNT_B).compareTo(new BigDecimal("1000")));
+        assertEquals(0, accountJdbcRepository.findBalance(ACCOUNT_B).compareTo(INITIAL_BALANCE.add(new BigDecimal("1000"))));
+        Integer usedBuckets = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_balance_bucket WHERE account_number = ? AND balance > 0", Integer.class, ACCOUNT_B);
+        assertTrue(usedBuckets > 1);
+
+        // 계좌 행 잔액보다 큰 출금 → 버킷 잔액을 모아서 처리
+        WithdrawRequestDTO withdraw = new WithdrawRequestDTO();
+        withdraw.setFromAccountNumber(ACCOUNT_B);
+        withdraw.setAmount(INITIAL_BALANCE.add(new BigDecimal("500")));
+        transactionService.withdraw(withdraw, principal);
+
+        assertEquals(0, accountJdbcRepository.findBalance(ACCOUNT_B).compareTo(new BigDecimal("500")));
+        assertEquals(0, accountJdbcRepository.sumBuckets(ACCOUNT_B).signum());
+    }
+
+    @Test
+    void withdraw_shouldSweepBucketsEvenWhenCacheIsStale() {
+        // 다른 인스턴스에서 버킷이 설정되어 이 인스턴스 캐시는 아직 "버킷 없음"
+        assertEquals(0, hotAccountRegistry.bucketCount(ACCOUNT_B));
+        accountJdbcRepository.createBuckets(ACCOUNT_B, 4);
+        accountJdbcRepository.updateBucketCount(ACCOUNT_B, 4);
+        accountJdbcRepository.creditBucket(ACCOUNT_B, 0, new BigDecimal("500"));
+
+        WithdrawRequestDTO withdraw = new WithdrawRequestDTO();
+        withdraw.setFromAccountNumber(ACCOUNT_B);
+        withdraw.setAmount(INITIAL_BALANCE.add(new BigDecimal("300")));
+        transactionService.withdraw(withdraw, principal);
+
+        assertEquals(0, accountJdbcRepository.findBalance(ACCOUNT_B).compareTo(new BigDecimal("200")));
+        assertEquals(0, accountJdbcRepository.sumBuckets(ACCOUNT_B).signum());
+        // 버킷을 정리하면서 캐시도 갱신
+        assertEquals(4, hotAccountRegistry.bucketCount(ACCOUNT_B));
+    }
+
+    @Test
+    void transferOutOfBucketedAccount_shouldNotCreateMoney() {
+        // 출금 계좌 행 잔액은 모자라고 버킷에 나머지가 있는 경우 (캐시는 아직 "버킷 없음")
+        accountJdbcRepository.createBuckets(ACCOUNT_A, 4);
+        accountJdbcRepository.updateBucketCount(ACCOUNT_A, 4);
+        accountJdbcRepository.creditBucket(ACCOUNT_A, 1, new BigDecimal("500"));
+        BigDecimal totalBefore = totalMoney();
+
+        transactionService.transfer(
+                new TransferRequestDTO(ACCOUNT_A, ACCOUNT_B, INITIAL_BALANCE.add(new BigDecimal("300")), "버킷 출금"), principal);
+
+        assertEquals(0, totalMoney().compareTo(totalBefore));
+        assertEquals(0, accountJdbcRepository.findBalance(ACCOUNT_A).compareTo(new BigDecimal("200")));
+        assertEquals(0, balance(ACCOUNT_B).compareTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(2)).add(new BigDecimal("300"))));
+        assertEquals(1, count("transaction"));
+    }
+
+    @Test
+    void failedTransferOutOfBucketedAccount_shouldLeaveBalancesUntouched() {
+        accountJdbcRepository.createBuckets(ACCOUNT_A, 4);
+        accountJdbcRepository.updateBucketCount(ACCOUNT_A, 4);
+        accountJdbcRepository.creditBucket(ACCOUNT_A, 1, new BigDecimal("500"));
+        BigDecimal totalBefore = totalMoney();
+
+        // 버킷을 모아도 모자람 → 입금 계좌 행에 먼저 반영된 금액까지 롤백
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> transactionService.transfer(
+                new TransferRequestDTO(ACCOUNT_A, ACCOUNT_B, INITIAL_BALANCE.add(new BigDecimal("600")), "잔액 부족"), principal));
+
+        assertEquals("Insufficient funds", exception.getMessage());
+        assertEquals(0, totalMoney().compareTo(totalBefore));
+        assertEquals(0, balance(ACCOUNT_B).compareTo(INITIAL_BALANCE));
+        assertEquals(0, count("transaction"));
+    }
+
+    // 계좌 행 + 버킷 행 잔액 합계
+    private BigDecimal totalMoney() {
+        return jdbcTemplate.queryForObject("SELECT SUM(balance) FROM account", BigDecimal.class)
+                .add(jdbcTemplate.queryForObject("SELECT COALESCE(SUM(balance), 0) FROM account_balance_bucket", BigDecimal.class));
+    }
+}
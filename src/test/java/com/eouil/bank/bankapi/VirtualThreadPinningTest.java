@@ -0,0 +1,104 @@
+package com.eouil.bank.bankapi;
+
+import com.eouil.bank.bankapi.concurrency.AccountLockManager;
+import com.eouil.bank.bankapi.concurrency.BulkheadDataSource;
+import com.eouil.bank.bankapi.concurrency.ConnectionBulkhead;
+import com.eouil.bank.bankapi.events.InMemoryLedgerEventSink;
+import com.eouil.bank.bankapi.events.LedgerEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 가상 스레드에서 우리 코드의 락 (계좌 스트라이프 락, 커넥션 bulkhead, 이벤트 싱크) 안에서 블로킹해도
+// carrier 스레드에 고정(jdk.VirtualThreadPinned)되지 않는지 JFR 로 확인
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 200;
+
+    @Test
+    void lockedBlockingSections_shouldNotPinCarrierThreads() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(new SimpleMeterRegistry(), 64, 10_000);
+        InMemoryLedgerEventSink sink = new InMemoryLedgerEventSink(100);
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        DataSource dataSource = new BulkheadDataSource(slowDataSource(open, maxOpen), new ConnectionBulkhead(4, TASKS, 10_000));
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    long id = i;
+                    // 같은 계좌 락 안에서 sleep (synchronized 였다면 pinning)
+                    futures.add(executor.submit(() -> lockManager.withLocks(() -> {
+                        sleep(2);
+                        return null;
+                    }, "10000000000001")));
+                    futures.add(executor.submit(() -> {
+                        try (Connection ignored = dataSource.getConnection()) {
+                            sleep(2);
+                        }
+                        return null;
+                    }));
+                    futures.add(executor.submit(() -> sink.publish(List.of(LedgerEvent.builder().outboxId(id).build()))));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "pinned: " + pinned.get(0).getStackTrace());
+        // bulkhead 상한 이상으로 커넥션이 열리지 않음
+        assertTrue(maxOpen.get() <= 4);
+        assertEquals(0, open.get());
+    }
+
+    // 커넥션 획득이 느린 가짜 DataSource (동시에 열린 커넥션 수 기록)
+    private DataSource slowDataSource(AtomicInteger open, AtomicInteger maxOpen) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!"getConnection".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    sleep(1);
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                            (c, m, a) -> {
+                                if ("close".equals(m.getName())) {
+                                    open.decrementAndGet();
+                                }
+                                return null;
+                            });
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}